@@ -0,0 +1,287 @@
+package com.github.coderodde.util;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * This class implements an asynchronous front-end to
+ * {@link com.github.coderodde.util.SemiDynamicRMQTree}. All the operations
+ * return a {@link java.util.concurrent.CompletableFuture} and are run on
+ * virtual threads.
+ * <p>
+ * Concurrent range minimum queries over the same range are coalesced into a
+ * single tree query. A query joins only an in-flight query that has not yet
+ * released its read lock, so a query issued after an update future completes
+ * always observes that update. Concurrent updates are micro-batched: all
+ * updates arriving while a batch is pending are merged per key and applied
+ * under a single write lock acquisition in one propagation pass (see
+ * {@link SemiDynamicRMQTree#updateAll(java.util.Map)}). The number of pending
+ * (not yet completed) operations is bounded; when the bound is reached, the
+ * returned future fails with
+ * {@link java.util.concurrent.RejectedExecutionException}. After
+ * {@link #close()}, the returned futures fail with
+ * {@link java.lang.IllegalStateException}.
+ *
+ * @param <K> the key type.
+ * @param <V> the value type.
+ */
+public final class AsyncSemiDynamicRMQTree<K extends Comparable<? super K>,
+                                           V extends Comparable<? super V>>
+        implements AutoCloseable {
+
+    /**
+     * The default maximum number of pending operations.
+     */
+    public static final int DEFAULT_MAXIMUM_PENDING_OPERATIONS = 10_000;
+
+    private final SemiDynamicRMQTree<K, V> tree;
+    private final ExecutorService executor;
+    private final ReadWriteLock treeLock = new ReentrantReadWriteLock();
+    private final Semaphore pendingOperationPermits;
+    private final Map<KeyRange<K>, CompletableFuture<V>> inFlightQueries =
+            new ConcurrentHashMap<>();
+
+    private final Object pendingUpdateLock = new Object();
+    private Map<K, V> pendingUpdates = new HashMap<>();
+    private List<CompletableFuture<Void>> pendingUpdateFutures =
+            new ArrayList<>();
+    private boolean drainScheduled;
+    private volatile boolean closed;
+
+    /**
+     * Constructs an asynchronous front-end to {@code tree} with the default
+     * maximum number of pending operations.
+     *
+     * @param tree the tree to wrap.
+     */
+    public AsyncSemiDynamicRMQTree(SemiDynamicRMQTree<K, V> tree) {
+        this(tree, DEFAULT_MAXIMUM_PENDING_OPERATIONS);
+    }
+
+    /**
+     * Constructs an asynchronous front-end to {@code tree}. The wrapped tree
+     * must not be accessed directly while this front-end is in use.
+     *
+     * @param tree                     the tree to wrap.
+     * @param maximumPendingOperations the maximum number of pending
+     *                                 operations.
+     */
+    public AsyncSemiDynamicRMQTree(SemiDynamicRMQTree<K, V> tree,
+                                   int maximumPendingOperations) {
+        this.tree = Objects.requireNonNull(tree, "The input tree is null.");
+
+        if (maximumPendingOperations < 1) {
+            throw new IllegalArgumentException(
+                    String.format(
+                            "The maximum number of pending operations " +
+                            "[%d] is not positive.",
+                            maximumPendingOperations));
+        }
+
+        this.pendingOperationPermits = new Semaphore(maximumPendingOperations);
+        this.executor = Executors.newVirtualThreadPerTaskExecutor();
+    }
+
+    /**
+     * Asynchronously associates the value {@code newValue} with the key
+     * {@code key}. See
+     * {@link SemiDynamicRMQTree#update(java.lang.Comparable, java.lang.Comparable)}.
+     *
+     * @param key      the target key.
+     * @param newValue the new value for the target key.
+     * @return the future completed once the update is applied to the tree,
+     *         or failed with {@link java.lang.IllegalStateException} if this
+     *         front-end is closed.
+     */
+    public CompletableFuture<Void> update(K key, V newValue) {
+        Objects.requireNonNull(key, "The key is null.");
+        Objects.requireNonNull(newValue, "The new value is null.");
+
+        if (closed) {
+            return createClosedFuture();
+        }
+
+        if (!pendingOperationPermits.tryAcquire()) {
+            return CompletableFuture.failedFuture(
+                    new RejectedExecutionException(
+                            "Too many pending operations."));
+        }
+
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        boolean scheduleDrain;
+
+        synchronized (pendingUpdateLock) {
+            pendingUpdates.merge(key, newValue, Utils::min);
+            pendingUpdateFutures.add(future);
+            scheduleDrain = !drainScheduled;
+            drainScheduled = true;
+        }
+
+        if (scheduleDrain) {
+            try {
+                executor.execute(this::drainUpdates);
+            } catch (RejectedExecutionException ex) {
+                // The executor is shutting down; apply the batch right away:
+                drainUpdates();
+            }
+        }
+
+        return future;
+    }
+
+    /**
+     * Asynchronously computes the range minimum. See
+     * {@link SemiDynamicRMQTree#getRangeMinimum(java.lang.Comparable, java.lang.Comparable)}.
+     *
+     * @param leftKey  the leftmost key of the range.
+     * @param rightKey the rightmost key of the range.
+     * @return the future holding the minimum value in the range, or failed
+     *         with {@link java.lang.IllegalStateException} if this front-end
+     *         is closed.
+     */
+    public CompletableFuture<V> getRangeMinimum(K leftKey, K rightKey) {
+        if (closed) {
+            return createClosedFuture();
+        }
+
+        KeyRange<K> range = new KeyRange<>(leftKey, rightKey);
+        CompletableFuture<V> future = inFlightQueries.get(range);
+
+        if (future != null) {
+            return future.copy();
+        }
+
+        if (!pendingOperationPermits.tryAcquire()) {
+            return CompletableFuture.failedFuture(
+                    new RejectedExecutionException(
+                            "Too many pending operations."));
+        }
+
+        CompletableFuture<V> newFuture = new CompletableFuture<>();
+        future = inFlightQueries.putIfAbsent(range, newFuture);
+
+        if (future != null) {
+            // Somebody else got there first:
+            pendingOperationPermits.release();
+            return future.copy();
+        }
+
+        try {
+            executor.execute(() -> runQuery(range, newFuture));
+        } catch (RejectedExecutionException ex) {
+            inFlightQueries.remove(range, newFuture);
+            pendingOperationPermits.release();
+            newFuture.completeExceptionally(ex);
+        }
+
+        return newFuture.copy();
+    }
+
+    /**
+     * Waits for all the submitted operations to complete and releases the
+     * virtual thread executor.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        executor.close();
+    }
+
+    /**
+     * Runs the actual range minimum query and publishes its result.
+     *
+     * @param range  the query range.
+     * @param future the future to complete.
+     */
+    private void runQuery(KeyRange<K> range, CompletableFuture<V> future) {
+        V value = null;
+        RuntimeException exception = null;
+
+        treeLock.readLock().lock();
+
+        try {
+            value = tree.getRangeMinimum(range.getLeftKey(),
+                                         range.getRightKey());
+        } catch (RuntimeException ex) {
+            exception = ex;
+        } finally {
+            // Remove while still holding the read lock so that no caller can
+            // join this query after a subsequent update has been applied:
+            inFlightQueries.remove(range, future);
+            treeLock.readLock().unlock();
+        }
+
+        pendingOperationPermits.release();
+
+        if (exception == null) {
+            future.complete(value);
+        } else {
+            future.completeExceptionally(exception);
+        }
+    }
+
+    /**
+     * Applies all the pending updates in one batch.
+     */
+    private void drainUpdates() {
+        Map<K, V> batch;
+        List<CompletableFuture<Void>> futures;
+
+        synchronized (pendingUpdateLock) {
+            batch = pendingUpdates;
+            futures = pendingUpdateFutures;
+            pendingUpdates = new HashMap<>();
+            pendingUpdateFutures = new ArrayList<>();
+            drainScheduled = false;
+        }
+
+        RuntimeException exception = null;
+
+        treeLock.writeLock().lock();
+
+        try {
+            tree.updateAll(batch);
+        } catch (RuntimeException ex) {
+            exception = ex;
+        } finally {
+            treeLock.writeLock().unlock();
+        }
+
+        pendingOperationPermits.release(futures.size());
+
+        for (CompletableFuture<Void> future : futures) {
+            if (exception == null) {
+                future.complete(null);
+            } else {
+                future.completeExceptionally(exception);
+            }
+        }
+    }
+
+    /**
+     * Returns the lock guarding the wrapped tree. Is package-private in order
+     * to be accessible from the unit tests.
+     *
+     * @return the tree lock.
+     */
+    ReadWriteLock getTreeLock() {
+        return treeLock;
+    }
+
+    private static <T> CompletableFuture<T> createClosedFuture() {
+        return CompletableFuture.failedFuture(
+                new IllegalStateException(
+                        "The asynchronous RMQ tree is closed."));
+    }
+}
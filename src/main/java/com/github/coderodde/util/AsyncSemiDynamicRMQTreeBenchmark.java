@@ -0,0 +1,162 @@
+package com.github.coderodde.util;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * This class implements an open-loop load generator for
+ * {@link com.github.coderodde.util.AsyncSemiDynamicRMQTree}. The operations
+ * are issued at a fixed rate, and the latency of each operation is measured
+ * from its scheduled start time, so that a stalled service does not hide its
+ * own queueing delay. Only the latencies of the successful operations are
+ * reported; the rejected operations are counted separately.
+ * <p>
+ * Usage: {@code [TREE_SIZE [TARGET_QPS [DURATION_SECONDS [UPDATE_RATIO]]]]}
+ */
+final class AsyncSemiDynamicRMQTreeBenchmark {
+
+    private static final int DEFAULT_TREE_SIZE = 1_000_000;
+    private static final int DEFAULT_TARGET_QPS = 100_000;
+    private static final int DEFAULT_DURATION_SECONDS = 5;
+    private static final double DEFAULT_UPDATE_RATIO = 0.1;
+    private static final int HOT_RANGES = 200;
+    private static final double HOT_RANGE_PROBABILITY = 0.9;
+
+    public static void main(String[] args) {
+        int treeSize =
+                args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_TREE_SIZE;
+
+        int targetQps =
+                args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_TARGET_QPS;
+
+        int durationSeconds =
+                args.length > 2 ?
+                Integer.parseInt(args[2]) :
+                DEFAULT_DURATION_SECONDS;
+
+        double updateRatio =
+                args.length > 3 ?
+                Double.parseDouble(args[3]) :
+                DEFAULT_UPDATE_RATIO;
+
+        long seed = System.currentTimeMillis();
+        Random random = new Random(seed);
+
+        System.out.printf(
+                "Seed = %d, tree size = %,d, target QPS = %,d, " +
+                "duration = %d s, update ratio = %.2f.\n",
+                seed,
+                treeSize,
+                targetQps,
+                durationSeconds,
+                updateRatio);
+
+        Set<KeyValuePair<Integer, Long>> keyValuePairSet =
+                new HashSet<>(treeSize);
+
+        for (int i = 0; i < treeSize; i++) {
+            keyValuePairSet.add(new KeyValuePair<>(i, random.nextLong()));
+        }
+
+        SemiDynamicRMQTree<Integer, Long> tree =
+                new SemiDynamicRMQTree<>(keyValuePairSet);
+
+        int[][] hotRanges = new int[HOT_RANGES][];
+
+        for (int i = 0; i < HOT_RANGES; i++) {
+            hotRanges[i] = randomRange(random, treeSize);
+        }
+
+        int operations = targetQps * durationSeconds;
+        long intervalNanos = 1_000_000_000L / targetQps;
+        long[] latencies = new long[operations];
+        CompletableFuture<?>[] futures = new CompletableFuture<?>[operations];
+
+        try (AsyncSemiDynamicRMQTree<Integer, Long> asyncTree =
+                new AsyncSemiDynamicRMQTree<>(tree)) {
+
+            long start = System.nanoTime();
+
+            for (int i = 0; i < operations; i++) {
+                long scheduledStart = start + i * intervalNanos;
+                long now;
+
+                while ((now = System.nanoTime()) < scheduledStart) {
+                    LockSupport.parkNanos(scheduledStart - now);
+                }
+
+                CompletableFuture<?> future;
+
+                if (random.nextDouble() < updateRatio) {
+                    future = asyncTree.update(random.nextInt(treeSize),
+                                              random.nextLong());
+                } else {
+                    int[] range = random.nextDouble() < HOT_RANGE_PROBABILITY ?
+                            hotRanges[random.nextInt(HOT_RANGES)] :
+                            randomRange(random, treeSize);
+
+                    future = asyncTree.getRangeMinimum(range[0], range[1]);
+                }
+
+                int index = i;
+
+                futures[i] = future.handle((result, throwable) -> {
+                    // A negative latency marks a failed operation:
+                    latencies[index] =
+                            throwable == null ?
+                            System.nanoTime() - scheduledStart :
+                            -1L;
+
+                    return null;
+                });
+            }
+
+            CompletableFuture.allOf(futures).join();
+
+            long end = System.nanoTime();
+
+            System.out.printf(
+                    "Issued %,d operations in %,d milliseconds " +
+                    "(%,.0f operations per second).\n",
+                    operations,
+                    (end - start) / 1_000_000L,
+                    operations * 1e9 / (end - start));
+        }
+
+        long[] successfulLatencies =
+                Arrays.stream(latencies)
+                      .filter(latency -> latency >= 0L)
+                      .sorted()
+                      .toArray();
+
+        System.out.printf("Successful operations: %,d.\n",
+                          successfulLatencies.length);
+
+        System.out.printf("Failed operations: %,d.\n",
+                          operations - successfulLatencies.length);
+
+        if (successfulLatencies.length == 0) {
+            return;
+        }
+
+        System.out.printf("p50 latency: %,d nanoseconds.\n",
+                          percentile(successfulLatencies, 0.50));
+        System.out.printf("p99 latency: %,d nanoseconds.\n",
+                          percentile(successfulLatencies, 0.99));
+    }
+
+    private static int[] randomRange(Random random, int treeSize) {
+        int key1 = random.nextInt(treeSize);
+        int key2 = random.nextInt(treeSize);
+        return new int[]{ Math.min(key1, key2), Math.max(key1, key2) };
+    }
+
+    private static long percentile(long[] sortedLatencies, double p) {
+        int index = (int) Math.ceil(p * sortedLatencies.length) - 1;
+        return sortedLatencies[Math.max(0, index)];
+    }
+}
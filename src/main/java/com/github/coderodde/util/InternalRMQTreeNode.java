@@ -25,7 +25,6 @@ final class InternalRMQTreeNode<V> extends AbstractRMQTreeNode<V> {
     
     @Override
     public String toString() {
-        return String.format("[INTERNAL: value = \"%s\"]", 
-                             Objects.toString(getValue()));
+        return "[INTERNAL: value = \"" + Objects.toString(getValue()) + "\"]";
     }
 }
@@ -0,0 +1,59 @@
+package com.github.coderodde.util;
+
+import java.util.Objects;
+
+/**
+ * This class holds a closed key range {@code [leftKey ... rightKey]}. Used as
+ * a hash map key by the query caching and coalescing facilities.
+ * 
+ * @param <K> the key type.
+ */
+final class KeyRange<K extends Comparable<? super K>> {
+    
+    private final K leftKey;
+    private final K rightKey;
+    
+    KeyRange(K leftKey, K rightKey) {
+        this.leftKey = leftKey;
+        this.rightKey = rightKey;
+    }
+    
+    K getLeftKey() {
+        return leftKey;
+    }
+    
+    K getRightKey() {
+        return rightKey;
+    }
+    
+    /**
+     * Checks whether {@code key} is within this range.
+     * 
+     * @param key the key to check.
+     * @return {@code true} if and only if {@code key} is within this range.
+     */
+    boolean contains(K key) {
+        return leftKey.compareTo(key) <= 0 && key.compareTo(rightKey) <= 0;
+    }
+    
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        
+        if (!(o instanceof KeyRange)) {
+            return false;
+        }
+        
+        KeyRange<?> other = (KeyRange<?>) o;
+        
+        return Objects.equals(leftKey, other.leftKey)
+            && Objects.equals(rightKey, other.rightKey);
+    }
+    
+    @Override
+    public int hashCode() {
+        return 31 * Objects.hashCode(leftKey) + Objects.hashCode(rightKey);
+    }
+}
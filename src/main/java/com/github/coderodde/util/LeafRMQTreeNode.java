@@ -4,9 +4,23 @@ import java.util.Objects;
 
 final class LeafRMQTreeNode<V> extends AbstractRMQTreeNode<V> {
     
+    private int index;
+    
+    /**
+     * Returns the index of this leaf in the key order.
+     * 
+     * @return the index of this leaf.
+     */
+    int getIndex() {
+        return index;
+    }
+    
+    void setIndex(int index) {
+        this.index = index;
+    }
+    
     @Override
     public String toString() {
-        return String.format("[LEAF: value = \"%s\"]",
-                             Objects.toString(getValue()));
+        return "[LEAF: value = \"" + Objects.toString(getValue()) + "\"]";
     }
 }
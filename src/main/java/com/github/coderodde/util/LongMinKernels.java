@@ -0,0 +1,63 @@
+package com.github.coderodde.util;
+
+/**
+ * This class provides the minimum kernels over {@code long} arrays used by
+ * {@link com.github.coderodde.util.SemiDynamicLongBlockRMQTree}. The SIMD 
+ * kernel requires the incubating module {@code jdk.incubator.vector} to be 
+ * resolved at run time ({@code --add-modules jdk.incubator.vector}); without 
+ * it, only the scalar kernel is available.
+ */
+final class LongMinKernels {
+    
+    /**
+     * Indicates whether the Vector API is available at run time.
+     */
+    static final boolean VECTOR_API_AVAILABLE = 
+            ModuleLayer.boot()
+                       .findModule("jdk.incubator.vector")
+                       .isPresent();
+    
+    private LongMinKernels() {
+        
+    }
+    
+    /**
+     * Computes the minimum of {@code array[fromIndex ... toIndex - 1]}.
+     * 
+     * @param array      the array to scan.
+     * @param fromIndex  the first index, inclusive.
+     * @param toIndex    the last index, exclusive.
+     * @param vectorized whether to use the SIMD kernel.
+     * @return the minimum value or {@link java.lang.Long#MAX_VALUE} if the 
+     *         range is empty.
+     */
+    static long min(long[] array, 
+                    int fromIndex, 
+                    int toIndex, 
+                    boolean vectorized) {
+        // VectorLongMinKernel is not loaded unless vectorized is set:
+        return vectorized ? 
+               VectorLongMinKernel.min(array, fromIndex, toIndex) :
+               scalarMin(array, fromIndex, toIndex);
+    }
+    
+    /**
+     * Computes the minimum of {@code array[fromIndex ... toIndex - 1]} one 
+     * element at a time.
+     * 
+     * @param array     the array to scan.
+     * @param fromIndex the first index, inclusive.
+     * @param toIndex   the last index, exclusive.
+     * @return the minimum value or {@link java.lang.Long#MAX_VALUE} if the 
+     *         range is empty.
+     */
+    static long scalarMin(long[] array, int fromIndex, int toIndex) {
+        long minValue = Long.MAX_VALUE;
+        
+        for (int i = fromIndex; i < toIndex; i++) {
+            minValue = Math.min(minValue, array[i]);
+        }
+        
+        return minValue;
+    }
+}
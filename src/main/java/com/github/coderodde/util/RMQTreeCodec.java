@@ -0,0 +1,38 @@
+package com.github.coderodde.util;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * This interface specifies the API for encoding keys or values of an RMQ tree
+ * to a binary stream. A column of keys or values is encoded in order, and each
+ * element is encoded relative to its predecessor in the column, which allows
+ * delta encoding of sorted keys.
+ * 
+ * @param <T> the type of the encoded elements.
+ */
+public interface RMQTreeCodec<T> {
+    
+    /**
+     * Writes {@code value} to {@code out}.
+     * 
+     * @param previous the preceding element in the column or {@code null} if
+     *                 {@code value} is the first one.
+     * @param value    the element to write.
+     * @param out      the target output.
+     * @throws IOException if the output fails.
+     */
+    void write(T previous, T value, DataOutput out) throws IOException;
+    
+    /**
+     * Reads an element from {@code in}.
+     * 
+     * @param previous the preceding element in the column or {@code null} if
+     *                 the element to read is the first one.
+     * @param in       the source input.
+     * @return the element read.
+     * @throws IOException if the input fails or is malformed.
+     */
+    T read(T previous, DataInput in) throws IOException;
+}
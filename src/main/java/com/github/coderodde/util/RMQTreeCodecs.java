@@ -0,0 +1,153 @@
+package com.github.coderodde.util;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * This class provides the standard 
+ * {@link com.github.coderodde.util.RMQTreeCodec} implementations. The numeric
+ * codecs store the difference to the previous element as a zigzag-encoded
+ * variable-length integer, so that small gaps between sorted keys or between
+ * neighbouring values take a single byte.
+ */
+public final class RMQTreeCodecs {
+    
+    private static final RMQTreeCodec<Integer> INTEGER_CODEC = 
+            new RMQTreeCodec<>() {
+                
+        @Override
+        public void write(Integer previous, Integer value, DataOutput out)
+                throws IOException {
+            int base = previous == null ? 0 : previous;
+            writeVarLong(zigzagEncode((long) value - base), out);
+        }
+
+        @Override
+        public Integer read(Integer previous, DataInput in) 
+                throws IOException {
+            int base = previous == null ? 0 : previous;
+            long value = base + zigzagDecode(readVarLong(in));
+            
+            if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+                throw new IOException(
+                        String.format("Integer overflow [%d].", value));
+            }
+            
+            return (int) value;
+        }
+    };
+    
+    private static final RMQTreeCodec<Long> LONG_CODEC = 
+            new RMQTreeCodec<>() {
+                
+        @Override
+        public void write(Long previous, Long value, DataOutput out)
+                throws IOException {
+            long base = previous == null ? 0L : previous;
+            // The wrap-around on overflow is undone by read:
+            writeVarLong(zigzagEncode(value - base), out);
+        }
+
+        @Override
+        public Long read(Long previous, DataInput in) throws IOException {
+            long base = previous == null ? 0L : previous;
+            return base + zigzagDecode(readVarLong(in));
+        }
+    };
+    
+    private static final RMQTreeCodec<String> STRING_CODEC = 
+            new RMQTreeCodec<>() {
+                
+        @Override
+        public void write(String previous, String value, DataOutput out)
+                throws IOException {
+            out.writeUTF(value);
+        }
+
+        @Override
+        public String read(String previous, DataInput in) throws IOException {
+            return in.readUTF();
+        }
+    };
+    
+    private RMQTreeCodecs() {
+        
+    }
+    
+    /**
+     * Returns the delta/varint codec for {@link java.lang.Integer}s.
+     * 
+     * @return the integer codec.
+     */
+    public static RMQTreeCodec<Integer> integerCodec() {
+        return INTEGER_CODEC;
+    }
+    
+    /**
+     * Returns the delta/varint codec for {@link java.lang.Long}s.
+     * 
+     * @return the long codec.
+     */
+    public static RMQTreeCodec<Long> longCodec() {
+        return LONG_CODEC;
+    }
+    
+    /**
+     * Returns the modified UTF-8 codec for {@link java.lang.String}s. Strings
+     * longer than 65535 bytes in modified UTF-8 are not supported.
+     * 
+     * @return the string codec.
+     */
+    public static RMQTreeCodec<String> stringCodec() {
+        return STRING_CODEC;
+    }
+    
+    /**
+     * Writes {@code value} as an unsigned variable-length integer, seven bits
+     * per byte, least significant group first.
+     * 
+     * @param value the value to write.
+     * @param out   the target output.
+     * @throws IOException if the output fails.
+     */
+    static void writeVarLong(long value, DataOutput out) throws IOException {
+        while ((value & ~0x7FL) != 0L) {
+            out.writeByte((int) ((value & 0x7FL) | 0x80L));
+            value >>>= 7;
+        }
+        
+        out.writeByte((int) value);
+    }
+    
+    /**
+     * Reads an unsigned variable-length integer written by 
+     * {@link #writeVarLong(long, java.io.DataOutput)}.
+     * 
+     * @param in the source input.
+     * @return the value read.
+     * @throws IOException if the input fails or is malformed.
+     */
+    static long readVarLong(DataInput in) throws IOException {
+        long value = 0L;
+        
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (long) (b & 0x7F) << shift;
+            
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        
+        throw new IOException("Malformed variable-length integer.");
+    }
+    
+    private static long zigzagEncode(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+    
+    private static long zigzagDecode(long value) {
+        return (value >>> 1) ^ -(value & 1L);
+    }
+}
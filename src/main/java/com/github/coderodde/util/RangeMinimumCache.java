@@ -0,0 +1,89 @@
+package com.github.coderodde.util;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * This class implements a bounded LRU cache mapping key ranges to their range
+ * minima. All the methods are synchronized so that the cache may be used by
+ * concurrent readers of the tree.
+ * 
+ * @param <K> the key type.
+ * @param <V> the value type.
+ */
+final class RangeMinimumCache<K extends Comparable<? super K>, V> {
+    
+    private final int capacity;
+    private final Map<KeyRange<K>, V> map;
+    
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long invalidations;
+    
+    RangeMinimumCache(int capacity) {
+        this.capacity = capacity;
+        this.map = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean 
+                removeEldestEntry(Map.Entry<KeyRange<K>, V> eldest) {
+                    
+                if (size() > RangeMinimumCache.this.capacity) {
+                    evictions++;
+                    return true;
+                }
+                
+                return false;
+            }
+        };
+    }
+    
+    /**
+     * Returns the cached minimum of {@code range}.
+     * 
+     * @param range the query range.
+     * @return the cached minimum or {@code null} if not cached.
+     */
+    synchronized V get(KeyRange<K> range) {
+        V value = map.get(range);
+        
+        if (value == null) {
+            misses++;
+        } else {
+            hits++;
+        }
+        
+        return value;
+    }
+    
+    synchronized void put(KeyRange<K> range, V value) {
+        map.put(range, value);
+    }
+    
+    /**
+     * Removes all the cached ranges containing {@code key}. Runs in time linear
+     * in the number of cached ranges.
+     * 
+     * @param key the updated key.
+     */
+    synchronized void invalidate(K key) {
+        Iterator<KeyRange<K>> iterator = map.keySet().iterator();
+        
+        while (iterator.hasNext()) {
+            if (iterator.next().contains(key)) {
+                iterator.remove();
+                invalidations++;
+            }
+        }
+    }
+    
+    synchronized RangeMinimumCacheStatistics getStatistics() {
+        return new RangeMinimumCacheStatistics(capacity,
+                                               map.size(),
+                                               hits,
+                                               misses,
+                                               evictions,
+                                               invalidations);
+    }
+}
@@ -0,0 +1,109 @@
+package com.github.coderodde.util;
+
+/**
+ * This class holds a snapshot of the range minimum cache statistics of a
+ * {@link com.github.coderodde.util.SemiDynamicRMQTree}.
+ */
+public final class RangeMinimumCacheStatistics {
+    
+    private final int capacity;
+    private final int size;
+    private final long hits;
+    private final long misses;
+    private final long evictions;
+    private final long invalidations;
+    
+    RangeMinimumCacheStatistics(int capacity,
+                                int size,
+                                long hits,
+                                long misses,
+                                long evictions,
+                                long invalidations) {
+        this.capacity = capacity;
+        this.size = size;
+        this.hits = hits;
+        this.misses = misses;
+        this.evictions = evictions;
+        this.invalidations = invalidations;
+    }
+    
+    /**
+     * Returns the maximum number of cached ranges. Zero means that the cache is
+     * disabled.
+     * 
+     * @return the cache capacity.
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Returns the number of currently cached ranges.
+     * 
+     * @return the cache size.
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Returns the number of lookups answered from the cache.
+     * 
+     * @return the number of hits.
+     */
+    public long getHits() {
+        return hits;
+    }
+
+    /**
+     * Returns the number of lookups that had to query the tree.
+     * 
+     * @return the number of misses.
+     */
+    public long getMisses() {
+        return misses;
+    }
+
+    /**
+     * Returns the number of ranges dropped in order to respect the capacity.
+     * 
+     * @return the number of evictions.
+     */
+    public long getEvictions() {
+        return evictions;
+    }
+
+    /**
+     * Returns the number of ranges dropped due to updates.
+     * 
+     * @return the number of invalidations.
+     */
+    public long getInvalidations() {
+        return invalidations;
+    }
+    
+    /**
+     * Returns the ratio of cache hits to all the cache lookups.
+     * 
+     * @return the hit rate or zero if there were no lookups.
+     */
+    public double getHitRate() {
+        long lookups = hits + misses;
+        return lookups == 0L ? 0.0 : (double) hits / lookups;
+    }
+    
+    @Override
+    public String toString() {
+        return String.format(
+                "[RangeMinimumCacheStatistics: capacity = %d, size = %d, " +
+                "hits = %d, misses = %d, evictions = %d, " + 
+                "invalidations = %d, hit rate = %.4f]",
+                capacity,
+                size,
+                hits,
+                misses,
+                evictions,
+                invalidations,
+                getHitRate());
+    }
+}
@@ -0,0 +1,282 @@
+package com.github.coderodde.util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import static com.github.coderodde.util.Utils.min;
+
+/**
+ * This class implements a semi-dynamic RMQ (range minimum query) tree with a
+ * B-ary implicit layout. Unlike {@link com.github.coderodde.util.SemiDynamicRMQTree},
+ * which allocates a separate object per node, this tree stores each level of
+ * node values in a contiguous array: level 0 holds the leaf values in key
+ * order, and the {@code i}th value on level {@code l + 1} is the minimum of the
+ * values {@code [i * B ... (i + 1) * B - 1]} on level {@code l}.
+ * <p>
+ * This layout localizes only the references to the values: the children of a
+ * node are adjacent in the level array, but each value is a separately
+ * allocated object that every comparison has to dereference. Hence, a query
+ * may touch up to {@code 2(B - 1)} value objects per level, and the arrays are
+ * not aligned to cache line boundaries. For {@code long} values, see
+ * {@link com.github.coderodde.util.SemiDynamicLongBlockRMQTree}, which stores
+ * the values inline.
+ * <p>
+ * Both {@link #update(java.lang.Comparable, java.lang.Comparable)} and
+ * {@link #getRangeMinimum(java.lang.Comparable, java.lang.Comparable)} visit
+ * {@code O(log_B n)} levels. The query makes at most {@code 2(B - 1)}
+ * comparisons per level.
+ * <p>
+ * Building the tree takes {@code O(n log n)} time.
+ *
+ * @param <K> the key type.
+ * @param <V> the value type.
+ */
+public final class SemiDynamicBlockRMQTree<K extends Comparable<? super K>,
+                                           V extends Comparable<? super V>> {
+
+    /**
+     * The default number of children per internal node.
+     */
+    public static final int DEFAULT_FAN_OUT = 16;
+
+    private final int fanOut;
+    private final Object[][] levels;
+    private final Map<K, Integer> keyToIndexMap;
+
+    /**
+     * Constructs a block RMQ tree with the default fan-out from the set of
+     * key/value pairs. Runs in {@code O(n log n)} time.
+     *
+     * @param keyValuePairSet the set of key/value pairs from which to construct
+     *                        the RMQ tree.
+     */
+    public SemiDynamicBlockRMQTree(Set<KeyValuePair<K, V>> keyValuePairSet) {
+        this(keyValuePairSet, DEFAULT_FAN_OUT);
+    }
+
+    /**
+     * Constructs a block RMQ tree with the fan-out {@code fanOut} from the set
+     * of key/value pairs. Runs in {@code O(n log n)} time.
+     *
+     * @param keyValuePairSet the set of key/value pairs from which to construct
+     *                        the RMQ tree.
+     * @param fanOut          the number of children per internal node.
+     */
+    public SemiDynamicBlockRMQTree(Set<KeyValuePair<K, V>> keyValuePairSet,
+                                   int fanOut) {
+        Objects.requireNonNull(
+                keyValuePairSet,
+                "The input KeyValuePair set is null.");
+
+        if (keyValuePairSet.isEmpty()) {
+            throw new IllegalArgumentException(
+                    "No key/value pairs to process.");
+        }
+
+        if (fanOut < 2) {
+            throw new IllegalArgumentException(
+                    String.format("The fan-out [%d] is less than 2.", fanOut));
+        }
+
+        List<KeyValuePair<K, V>> keyValuePairList =
+                new ArrayList<>(keyValuePairSet);
+
+        Collections.sort(keyValuePairList);
+
+        this.fanOut = fanOut;
+        this.keyToIndexMap = new HashMap<>(keyValuePairList.size());
+
+        Object[] leafValues = new Object[keyValuePairList.size()];
+
+        for (int i = 0; i < leafValues.length; i++) {
+            KeyValuePair<K, V> keyValuePair = keyValuePairList.get(i);
+            leafValues[i] = keyValuePair.getValue();
+            keyToIndexMap.put(keyValuePair.getKey(), i);
+        }
+
+        this.levels = buildLevels(leafValues, fanOut);
+    }
+
+    /**
+     * Associates the value {@code newValue} with the key {@code key}. Runs in
+     * {@code O(log_B n)} time.
+     *
+     * @param key      the target key.
+     * @param newValue the new value for the target key.
+     */
+    public void update(K key, V newValue) {
+        Integer index = keyToIndexMap.get(key);
+
+        if (index == null) {
+            return;
+        }
+
+        int i = index;
+
+        for (Object[] levelValues : levels) {
+            levelValues[i] = min(valueAt(levelValues, i), newValue);
+            i /= fanOut;
+        }
+    }
+
+    /**
+     * Given the range {@code R = [leftKey ... rightKey]}, return the minimum
+     * value in {@code R}. Runs in {@code O(B log_B n)} time.
+     *
+     * @param leftKey  the leftmost key of the range.
+     * @param rightKey the rightmost key of the range.
+     * @return the minimum value in {@code R}.
+     */
+    public V getRangeMinimum(K leftKey, K rightKey) {
+        Integer leftIndex = keyToIndexMap.get(leftKey);
+
+        Objects.requireNonNull(
+                leftIndex,
+                String.format(
+                        "The left key [%s] is not in this tree.",
+                        leftKey));
+
+        Integer rightIndex = keyToIndexMap.get(rightKey);
+
+        Objects.requireNonNull(
+                rightIndex,
+                String.format(
+                        "The right key [%s] is not in this tree.",
+                        rightKey));
+
+        if (leftIndex > rightIndex) {
+            String exceptionMessage =
+                    String.format(
+                            "The specified range [%s, %s] is descending.",
+                            leftKey,
+                            rightKey);
+
+            throw new IllegalArgumentException(exceptionMessage);
+        }
+
+        return getRangeMinimumImpl(leftIndex, rightIndex);
+    }
+
+    /**
+     * Returns the number of children per internal node.
+     *
+     * @return the fan-out.
+     */
+    public int getFanOut() {
+        return fanOut;
+    }
+
+    /**
+     * Computes the minimum over the leaf indices {@code [leftIndex ...
+     * rightIndex]}. On each level, the partial blocks at both ends of the
+     * range are scanned directly, after which the range shrinks to the
+     * parents of the remaining full blocks.
+     *
+     * @param leftIndex  the leftmost leaf index.
+     * @param rightIndex the rightmost leaf index.
+     * @return the minimum value.
+     */
+    private V getRangeMinimumImpl(int leftIndex, int rightIndex) {
+        V minValue = null;
+        int lo = leftIndex;
+        int hi = rightIndex;
+
+        for (int level = 0; level < levels.length; level++) {
+            Object[] levelValues = levels[level];
+
+            if (level == levels.length - 1) {
+                // The root level, scan what remains:
+                while (lo <= hi) {
+                    minValue = minOrFirst(minValue, valueAt(levelValues, lo++));
+                }
+
+                break;
+            }
+
+            while (lo <= hi && lo % fanOut != 0) {
+                minValue = minOrFirst(minValue, valueAt(levelValues, lo++));
+            }
+
+            while (lo <= hi
+                    && hi % fanOut != fanOut - 1
+                    && hi != levelValues.length - 1) {
+                minValue = minOrFirst(minValue, valueAt(levelValues, hi--));
+            }
+
+            if (lo > hi) {
+                break;
+            }
+
+            lo /= fanOut;
+            hi /= fanOut;
+        }
+
+        return minValue;
+    }
+
+    /**
+     * Builds all the levels on top of the leaf values.
+     *
+     * @param leafValues the leaf values in key order.
+     * @param fanOut     the number of children per internal node.
+     * @return the levels, leaf level first.
+     */
+    private static Object[][] buildLevels(Object[] leafValues, int fanOut) {
+        List<Object[]> levelList = new ArrayList<>();
+        Object[] levelValues = leafValues;
+        levelList.add(levelValues);
+
+        while (levelValues.length > 1) {
+            Object[] parentValues =
+                    new Object[(levelValues.length + fanOut - 1) / fanOut];
+
+            for (int i = 0; i < parentValues.length; i++) {
+                parentValues[i] = computeBlockMinimum(levelValues, i, fanOut);
+            }
+
+            levelList.add(parentValues);
+            levelValues = parentValues;
+        }
+
+        return levelList.toArray(new Object[levelList.size()][]);
+    }
+
+    /**
+     * Computes the minimum of the {@code blockIndex}th block of
+     * {@code levelValues}.
+     *
+     * @param levelValues the level values.
+     * @param blockIndex  the index of the block.
+     * @param fanOut      the block length.
+     * @return the minimum value of the block.
+     */
+    @SuppressWarnings("unchecked")
+    private static <V extends Comparable<? super V>>
+        Object computeBlockMinimum(Object[] levelValues,
+                                   int blockIndex,
+                                   int fanOut) {
+
+        int start = blockIndex * fanOut;
+        int end = Math.min(start + fanOut, levelValues.length);
+        V minValue = (V) levelValues[start];
+
+        for (int i = start + 1; i < end; i++) {
+            minValue = min(minValue, (V) levelValues[i]);
+        }
+
+        return minValue;
+    }
+
+    @SuppressWarnings("unchecked")
+    private V valueAt(Object[] levelValues, int index) {
+        return (V) levelValues[index];
+    }
+
+    private V minOrFirst(V currentMinimum, V value) {
+        return currentMinimum == null ? value : min(currentMinimum, value);
+    }
+}
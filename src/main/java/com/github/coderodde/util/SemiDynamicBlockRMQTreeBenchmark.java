@@ -0,0 +1,211 @@
+package com.github.coderodde.util;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * This class compares the binary, node-based
+ * {@link com.github.coderodde.util.SemiDynamicRMQTree} against the B-ary,
+ * array-based {@link com.github.coderodde.util.SemiDynamicBlockRMQTree} and
+ * its primitive counterpart
+ * {@link com.github.coderodde.util.SemiDynamicLongBlockRMQTree} (with the
+ * default, scalar kernel). Each round runs every workload on all three trees,
+ * rotating which tree goes first; the first {@code WARMUP_ROUNDS} rounds are
+ * discarded and the median of the remaining rounds is reported.
+ * <p>
+ * Usage: {@code [TREE_SIZE [OPERATIONS [FAN_OUT [LONG_FAN_OUT [ROUNDS]]]]]}
+ */
+final class SemiDynamicBlockRMQTreeBenchmark {
+    
+    private static final int DEFAULT_TREE_SIZE = 1_000_000;
+    private static final int DEFAULT_OPERATIONS = 1_000_000;
+    private static final int DEFAULT_ROUNDS = 15;
+    private static final int WARMUP_ROUNDS = 5;
+    private static final String[] VARIANT_NAMES = {
+        "binary",
+        "block",
+        "long block",
+    };
+    private static final String[] WORKLOAD_NAMES = {
+        "Random range queries",
+        "Updates",
+    };
+    
+    public static void main(String[] args) {
+        int treeSize = 
+                args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_TREE_SIZE;
+        
+        int operations = 
+                args.length > 1 ? 
+                Integer.parseInt(args[1]) : 
+                DEFAULT_OPERATIONS;
+        
+        int fanOut = 
+                args.length > 2 ? 
+                Integer.parseInt(args[2]) : 
+                SemiDynamicBlockRMQTree.DEFAULT_FAN_OUT;
+        
+        int longFanOut = 
+                args.length > 3 ? 
+                Integer.parseInt(args[3]) : 
+                SemiDynamicLongBlockRMQTree.DEFAULT_FAN_OUT;
+        
+        int rounds = 
+                args.length > 4 ? 
+                Integer.parseInt(args[4]) : 
+                DEFAULT_ROUNDS;
+        
+        long seed = System.currentTimeMillis();
+        Random random = new Random(seed);
+        
+        System.out.printf(
+                "Seed = %d, tree size = %,d, operations = %,d, " + 
+                "fan-out = %d, long fan-out = %d, rounds = %d " + 
+                "(%d warm-up).\n",
+                seed, 
+                treeSize, 
+                operations, 
+                fanOut, 
+                longFanOut, 
+                rounds, 
+                WARMUP_ROUNDS);
+        
+        Set<KeyValuePair<Integer, Long>> keyValuePairSet = 
+                new HashSet<>(treeSize);
+        
+        for (int i = 0; i < treeSize; i++) {
+            keyValuePairSet.add(new KeyValuePair<>(i, random.nextLong()));
+        }
+        
+        SemiDynamicRMQTree<Integer, Long> binaryTree = 
+                new SemiDynamicRMQTree<>(keyValuePairSet);
+        
+        SemiDynamicBlockRMQTree<Integer, Long> blockTree = 
+                new SemiDynamicBlockRMQTree<>(keyValuePairSet, fanOut);
+        
+        SemiDynamicLongBlockRMQTree<Integer> longBlockTree = 
+                new SemiDynamicLongBlockRMQTree<>(keyValuePairSet, longFanOut);
+        
+        int[] leftKeys = new int[operations];
+        int[] rightKeys = new int[operations];
+        
+        for (int i = 0; i < operations; i++) {
+            int key1 = random.nextInt(treeSize);
+            int key2 = random.nextInt(treeSize);
+            leftKeys[i] = Math.min(key1, key2);
+            rightKeys[i] = Math.max(key1, key2);
+        }
+        
+        int measuredRounds = rounds - WARMUP_ROUNDS;
+        long[][][] durations = 
+                new long[WORKLOAD_NAMES.length]
+                        [VARIANT_NAMES.length]
+                        [measuredRounds];
+        
+        boolean checksumsAgree = true;
+        
+        for (int round = 0; round < rounds; round++) {
+            // All the trees receive the same updates in the same round:
+            int[] updateKeys = new int[operations];
+            long[] updateValues = new long[operations];
+            
+            for (int i = 0; i < operations; i++) {
+                updateKeys[i] = random.nextInt(treeSize);
+                updateValues[i] = random.nextLong();
+            }
+            
+            long[] checksums = new long[VARIANT_NAMES.length];
+            
+            for (int run = 0; run < VARIANT_NAMES.length; run++) {
+                // Rotate the order of the variants between rounds:
+                int variant = (round + run) % VARIANT_NAMES.length;
+                long[] workloadDurations = new long[WORKLOAD_NAMES.length];
+                
+                long start = System.nanoTime();
+                
+                for (int i = 0; i < operations; i++) {
+                    switch (variant) {
+                        case 0:
+                            checksums[variant] += 
+                                    binaryTree.getRangeMinimum(leftKeys[i], 
+                                                               rightKeys[i]);
+                            break;
+                        
+                        case 1:
+                            checksums[variant] += 
+                                    blockTree.getRangeMinimum(leftKeys[i], 
+                                                              rightKeys[i]);
+                            break;
+                        
+                        default:
+                            checksums[variant] += 
+                                    longBlockTree.getRangeMinimum(
+                                            leftKeys[i], 
+                                            rightKeys[i]);
+                    }
+                }
+                
+                workloadDurations[0] = System.nanoTime() - start;
+                start = System.nanoTime();
+                
+                for (int i = 0; i < operations; i++) {
+                    switch (variant) {
+                        case 0:
+                            binaryTree.update(updateKeys[i], updateValues[i]);
+                            break;
+                        
+                        case 1:
+                            blockTree.update(updateKeys[i], updateValues[i]);
+                            break;
+                        
+                        default:
+                            longBlockTree.update(updateKeys[i], 
+                                                 updateValues[i]);
+                    }
+                }
+                
+                workloadDurations[1] = System.nanoTime() - start;
+                
+                if (round >= WARMUP_ROUNDS) {
+                    for (int w = 0; w < WORKLOAD_NAMES.length; w++) {
+                        durations[w][variant][round - WARMUP_ROUNDS] = 
+                                workloadDurations[w];
+                    }
+                }
+            }
+            
+            checksumsAgree &= checksums[0] == checksums[1]
+                           && checksums[1] == checksums[2];
+        }
+        
+        checksumsAgree &= 
+                binaryTree.getRangeMinimum(0, treeSize - 1)
+                          .equals(blockTree.getRangeMinimum(0, treeSize - 1))
+                && blockTree.getRangeMinimum(0, treeSize - 1)
+                == longBlockTree.getRangeMinimum(0, treeSize - 1);
+        
+        for (int w = 0; w < WORKLOAD_NAMES.length; w++) {
+            System.out.printf("%s:", WORKLOAD_NAMES[w]);
+            
+            for (int variant = 0; variant < VARIANT_NAMES.length; variant++) {
+                System.out.printf(
+                        "%s %s %,d milliseconds",
+                        variant == 0 ? "" : ",", 
+                        VARIANT_NAMES[variant], 
+                        median(durations[w][variant]) / 1_000_000L);
+            }
+            
+            System.out.println(".");
+        }
+        
+        System.out.printf("Checksums agree: %b.\n", checksumsAgree);
+    }
+    
+    private static long median(long[] durations) {
+        long[] sortedDurations = durations.clone();
+        Arrays.sort(sortedDurations);
+        return sortedDurations[sortedDurations.length / 2];
+    }
+}
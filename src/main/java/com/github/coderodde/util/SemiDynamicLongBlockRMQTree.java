@@ -0,0 +1,395 @@
+package com.github.coderodde.util;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * This class implements a semi-dynamic RMQ (range minimum query) tree over
+ * primitive {@code long} values with a B-ary implicit layout. It is the
+ * primitive counterpart of
+ * {@link com.github.coderodde.util.SemiDynamicBlockRMQTree}: level 0 holds the
+ * leaf values in key order, and the {@code i}th value on level {@code l + 1}
+ * is the minimum of the values {@code [i * B ... (i + 1) * B - 1]} on level
+ * {@code l}. Since the values are stored inline, the children of a node
+ * occupy {@code 8B} contiguous bytes; with the default fan-out of 8, that is
+ * 64 bytes, which spans at most two cache lines.
+ * <p>
+ * The block minima computed while building, the partial blocks scanned by
+ * queries, the optional direct scan of short ranges and the recomputation of
+ * the changed blocks in {@link #updateAll(java.util.Map)} all use a single
+ * minimum kernel. The scalar kernel is the default. If the incubating module
+ * {@code jdk.incubator.vector} is resolved at run time
+ * ({@code --add-modules jdk.incubator.vector}), {@link #setVectorized(boolean)}
+ * switches to a SIMD kernel built on
+ * {@code LongVector.reduceLanes(VectorOperators.MIN)}. At the default fan-out,
+ * the SIMD kernel measured slower than the scalar one; it pays off only for
+ * wider blocks and longer scans.
+ * <p>
+ * Both {@link #update(java.lang.Comparable, long)} and
+ * {@link #getRangeMinimum(java.lang.Comparable, java.lang.Comparable)} visit
+ * {@code O(log_B n)} levels. Building the tree takes {@code O(n log n)} time.
+ *
+ * @param <K> the key type.
+ */
+public final class SemiDynamicLongBlockRMQTree<K extends Comparable<? super K>> {
+
+    /**
+     * The default number of children per internal node.
+     */
+    public static final int DEFAULT_FAN_OUT = 8;
+
+    private final int fanOut;
+    private int directScanThreshold;
+    private boolean vectorized;
+    private final long[][] levels;
+    private final Map<K, Integer> keyToIndexMap;
+
+    /**
+     * Constructs a long block RMQ tree with the default fan-out from the set
+     * of key/value pairs. Runs in {@code O(n log n)} time.
+     *
+     * @param keyValuePairSet the set of key/value pairs from which to construct
+     *                        the RMQ tree.
+     */
+    public SemiDynamicLongBlockRMQTree(
+            Set<KeyValuePair<K, Long>> keyValuePairSet) {
+        this(keyValuePairSet, DEFAULT_FAN_OUT);
+    }
+
+    /**
+     * Constructs a long block RMQ tree with the fan-out {@code fanOut} from the
+     * set of key/value pairs. Runs in {@code O(n log n)} time.
+     *
+     * @param keyValuePairSet the set of key/value pairs from which to construct
+     *                        the RMQ tree.
+     * @param fanOut          the number of children per internal node.
+     */
+    public SemiDynamicLongBlockRMQTree(
+            Set<KeyValuePair<K, Long>> keyValuePairSet,
+            int fanOut) {
+        Objects.requireNonNull(
+                keyValuePairSet,
+                "The input KeyValuePair set is null.");
+
+        if (keyValuePairSet.isEmpty()) {
+            throw new IllegalArgumentException(
+                    "No key/value pairs to process.");
+        }
+
+        if (fanOut < 2) {
+            throw new IllegalArgumentException(
+                    String.format("The fan-out [%d] is less than 2.", fanOut));
+        }
+
+        List<KeyValuePair<K, Long>> keyValuePairList =
+                new ArrayList<>(keyValuePairSet);
+
+        Collections.sort(keyValuePairList);
+
+        this.fanOut = fanOut;
+        this.keyToIndexMap = new HashMap<>(keyValuePairList.size());
+
+        long[] leafValues = new long[keyValuePairList.size()];
+
+        for (int i = 0; i < leafValues.length; i++) {
+            KeyValuePair<K, Long> keyValuePair = keyValuePairList.get(i);
+            leafValues[i] = keyValuePair.getValue();
+            keyToIndexMap.put(keyValuePair.getKey(), i);
+        }
+
+        this.levels = buildLevels(leafValues);
+    }
+
+    /**
+     * Associates the value {@code newValue} with the key {@code key}. Runs in
+     * {@code O(log_B n)} time.
+     *
+     * @param key      the target key.
+     * @param newValue the new value for the target key.
+     */
+    public void update(K key, long newValue) {
+        Integer index = keyToIndexMap.get(key);
+
+        if (index == null) {
+            return;
+        }
+
+        int i = index;
+
+        for (long[] levelValues : levels) {
+            levelValues[i] = Math.min(levelValues[i], newValue);
+            i /= fanOut;
+        }
+    }
+
+    /**
+     * Associates each key in {@code keyValueMap} with its new value, as if by
+     * {@link #update(java.lang.Comparable, long)}. The leaves are updated
+     * first; then, one level at a time, the minimum of each block containing a
+     * changed node is recomputed with the minimum kernel. Keys not in this
+     * tree are ignored.
+     *
+     * @param keyValueMap the map mapping the target keys to their new values.
+     */
+    public void updateAll(Map<K, Long> keyValueMap) {
+        long[] leafValues = levels[0];
+        BitSet changedBlocks = new BitSet(levels.length > 1 ?
+                                          levels[1].length :
+                                          1);
+
+        for (Map.Entry<K, Long> entry : keyValueMap.entrySet()) {
+            Integer index = keyToIndexMap.get(entry.getKey());
+
+            if (index == null) {
+                continue;
+            }
+
+            long newValue = entry.getValue();
+
+            if (newValue < leafValues[index]) {
+                leafValues[index] = newValue;
+                changedBlocks.set(index / fanOut);
+            }
+        }
+
+        for (int level = 1;
+                level < levels.length && !changedBlocks.isEmpty();
+                level++) {
+
+            long[] childValues  = levels[level - 1];
+            long[] parentValues = levels[level];
+            BitSet changedParentBlocks = new BitSet();
+
+            for (int block = changedBlocks.nextSetBit(0);
+                    block >= 0;
+                    block = changedBlocks.nextSetBit(block + 1)) {
+
+                long blockMinimum = computeBlockMinimum(childValues, block);
+
+                if (blockMinimum < parentValues[block]) {
+                    parentValues[block] = blockMinimum;
+                    changedParentBlocks.set(block / fanOut);
+                }
+            }
+
+            changedBlocks = changedParentBlocks;
+        }
+    }
+
+    /**
+     * Given the range {@code R = [leftKey ... rightKey]}, return the minimum
+     * value in {@code R}. Runs in {@code O(B log_B n)} time.
+     *
+     * @param leftKey  the leftmost key of the range.
+     * @param rightKey the rightmost key of the range.
+     * @return the minimum value in {@code R}.
+     */
+    public long getRangeMinimum(K leftKey, K rightKey) {
+        Integer leftIndex = keyToIndexMap.get(leftKey);
+
+        Objects.requireNonNull(
+                leftIndex,
+                String.format(
+                        "The left key [%s] is not in this tree.",
+                        leftKey));
+
+        Integer rightIndex = keyToIndexMap.get(rightKey);
+
+        Objects.requireNonNull(
+                rightIndex,
+                String.format(
+                        "The right key [%s] is not in this tree.",
+                        rightKey));
+
+        if (leftIndex > rightIndex) {
+            String exceptionMessage =
+                    String.format(
+                            "The specified range [%s, %s] is descending.",
+                            leftKey,
+                            rightKey);
+
+            throw new IllegalArgumentException(exceptionMessage);
+        }
+
+        return getRangeMinimumImpl(leftIndex, rightIndex);
+    }
+
+    /**
+     * Returns the number of children per internal node.
+     *
+     * @return the fan-out.
+     */
+    public int getFanOut() {
+        return fanOut;
+    }
+
+    /**
+     * Returns the maximum number of leaves in a range that is answered by
+     * scanning the leaf level directly.
+     *
+     * @return the direct scan threshold.
+     */
+    public int getDirectScanThreshold() {
+        return directScanThreshold;
+    }
+
+    /**
+     * Sets the maximum number of leaves in a range that is answered by
+     * scanning the leaf level directly. Zero disables the direct scan, which
+     * is the default.
+     *
+     * @param directScanThreshold the new direct scan threshold.
+     */
+    public void setDirectScanThreshold(int directScanThreshold) {
+        if (directScanThreshold < 0) {
+            throw new IllegalArgumentException(
+                    String.format(
+                            "The direct scan threshold [%d] is negative.",
+                            directScanThreshold));
+        }
+
+        this.directScanThreshold = directScanThreshold;
+    }
+
+    /**
+     * Returns {@code true} if this tree uses the SIMD minimum kernel.
+     *
+     * @return {@code true} if vectorized.
+     */
+    public boolean isVectorized() {
+        return vectorized;
+    }
+
+    /**
+     * Switches between the SIMD and the scalar minimum kernels. The scalar 
+     * kernel is the default.
+     *
+     * @param vectorized whether to use the SIMD kernel.
+     * @throws IllegalStateException if {@code vectorized} is set and the
+     *                               module {@code jdk.incubator.vector} is not
+     *                               available.
+     */
+    public void setVectorized(boolean vectorized) {
+        if (vectorized && !LongMinKernels.VECTOR_API_AVAILABLE) {
+            throw new IllegalStateException(
+                    "The module jdk.incubator.vector is not available.");
+        }
+
+        this.vectorized = vectorized;
+    }
+
+    /**
+     * Computes the minimum over the leaf indices {@code [leftIndex ...
+     * rightIndex]}. On each level, the partial blocks at both ends of the
+     * range are scanned with the minimum kernel, after which the range shrinks
+     * to the parents of the remaining full blocks.
+     *
+     * @param leftIndex  the leftmost leaf index.
+     * @param rightIndex the rightmost leaf index.
+     * @return the minimum value.
+     */
+    private long getRangeMinimumImpl(int leftIndex, int rightIndex) {
+        if (rightIndex - leftIndex < directScanThreshold) {
+            return LongMinKernels.min(levels[0],
+                                      leftIndex,
+                                      rightIndex + 1,
+                                      vectorized);
+        }
+
+        long minValue = Long.MAX_VALUE;
+        int lo = leftIndex;
+        int hi = rightIndex;
+
+        for (int level = 0; level < levels.length; level++) {
+            long[] levelValues = levels[level];
+
+            if (level == levels.length - 1) {
+                // The root level, scan what remains:
+                return Math.min(minValue,
+                                LongMinKernels.min(levelValues,
+                                                   lo,
+                                                   hi + 1,
+                                                   vectorized));
+            }
+
+            if (lo % fanOut != 0) {
+                int end = Math.min((lo / fanOut + 1) * fanOut, hi + 1);
+
+                minValue = Math.min(minValue,
+                                    LongMinKernels.min(levelValues,
+                                                       lo,
+                                                       end,
+                                                       vectorized));
+                lo = end;
+            }
+
+            if (lo <= hi
+                    && hi % fanOut != fanOut - 1
+                    && hi != levelValues.length - 1) {
+                int start = Math.max(hi / fanOut * fanOut, lo);
+
+                minValue = Math.min(minValue,
+                                    LongMinKernels.min(levelValues,
+                                                       start,
+                                                       hi + 1,
+                                                       vectorized));
+                hi = start - 1;
+            }
+
+            if (lo > hi) {
+                break;
+            }
+
+            lo /= fanOut;
+            hi /= fanOut;
+        }
+
+        return minValue;
+    }
+
+    /**
+     * Builds all the levels on top of the leaf values.
+     *
+     * @param leafValues the leaf values in key order.
+     * @return the levels, leaf level first.
+     */
+    private long[][] buildLevels(long[] leafValues) {
+        List<long[]> levelList = new ArrayList<>();
+        long[] levelValues = leafValues;
+        levelList.add(levelValues);
+
+        while (levelValues.length > 1) {
+            long[] parentValues =
+                    new long[(levelValues.length + fanOut - 1) / fanOut];
+
+            for (int i = 0; i < parentValues.length; i++) {
+                parentValues[i] = computeBlockMinimum(levelValues, i);
+            }
+
+            levelList.add(parentValues);
+            levelValues = parentValues;
+        }
+
+        return levelList.toArray(new long[levelList.size()][]);
+    }
+
+    /**
+     * Computes the minimum of the {@code blockIndex}th block of
+     * {@code levelValues}.
+     *
+     * @param levelValues the level values.
+     * @param blockIndex  the index of the block.
+     * @return the minimum value of the block.
+     */
+    private long computeBlockMinimum(long[] levelValues, int blockIndex) {
+        int start = blockIndex * fanOut;
+        int end = Math.min(start + fanOut, levelValues.length);
+        return LongMinKernels.min(levelValues, start, end, vectorized);
+    }
+}
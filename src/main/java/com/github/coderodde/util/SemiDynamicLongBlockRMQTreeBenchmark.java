@@ -0,0 +1,187 @@
+package com.github.coderodde.util;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * This class compares the SIMD and the scalar minimum kernels of
+ * {@link com.github.coderodde.util.SemiDynamicLongBlockRMQTree}. Two identical
+ * trees are built, one per kernel. Each round runs every workload on both 
+ * trees, alternating which tree goes first; the first 
+ * {@code WARMUP_ROUNDS} rounds are discarded and the median of the remaining
+ * rounds is reported. Must be run with 
+ * {@code --add-modules jdk.incubator.vector}.
+ * <p>
+ * Usage: {@code [TREE_SIZE [OPERATIONS [FAN_OUT [ROUNDS]]]]}
+ */
+final class SemiDynamicLongBlockRMQTreeBenchmark {
+    
+    private static final int DEFAULT_TREE_SIZE = 1_000_000;
+    private static final int DEFAULT_OPERATIONS = 1_000_000;
+    private static final int DEFAULT_ROUNDS = 15;
+    private static final int WARMUP_ROUNDS = 5;
+    private static final int SHORT_RANGE_LENGTH = 64;
+    private static final String[] WORKLOAD_NAMES = {
+        "Random range queries",
+        "Short range queries with direct scan",
+        "Bulk updates",
+    };
+    
+    public static void main(String[] args) {
+        if (!LongMinKernels.VECTOR_API_AVAILABLE) {
+            System.out.println(
+                    "Run with --add-modules jdk.incubator.vector.");
+            return;
+        }
+        
+        int treeSize = 
+                args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_TREE_SIZE;
+        
+        int operations = 
+                args.length > 1 ? 
+                Integer.parseInt(args[1]) : 
+                DEFAULT_OPERATIONS;
+        
+        int fanOut = 
+                args.length > 2 ? 
+                Integer.parseInt(args[2]) :
+                SemiDynamicLongBlockRMQTree.DEFAULT_FAN_OUT;
+        
+        int rounds = 
+                args.length > 3 ? 
+                Integer.parseInt(args[3]) :
+                DEFAULT_ROUNDS;
+        
+        long seed = System.currentTimeMillis();
+        Random random = new Random(seed);
+        
+        System.out.printf(
+                "Seed = %d, tree size = %,d, operations = %,d, " + 
+                "fan-out = %d, rounds = %d (%d warm-up).\n",
+                seed,
+                treeSize,
+                operations,
+                fanOut,
+                rounds,
+                WARMUP_ROUNDS);
+        
+        Set<KeyValuePair<Integer, Long>> keyValuePairSet = 
+                new HashSet<>(treeSize);
+        
+        for (int i = 0; i < treeSize; i++) {
+            keyValuePairSet.add(
+                    new KeyValuePair<>(i, (long) random.nextInt()));
+        }
+        
+        SemiDynamicLongBlockRMQTree<Integer> vectorTree = 
+                new SemiDynamicLongBlockRMQTree<>(keyValuePairSet, fanOut);
+        
+        SemiDynamicLongBlockRMQTree<Integer> scalarTree = 
+                new SemiDynamicLongBlockRMQTree<>(keyValuePairSet, fanOut);
+        
+        vectorTree.setVectorized(true);
+        scalarTree.setVectorized(false);
+        vectorTree.setDirectScanThreshold(SHORT_RANGE_LENGTH);
+        scalarTree.setDirectScanThreshold(SHORT_RANGE_LENGTH);
+        
+        int[] leftKeys = new int[operations];
+        int[] rightKeys = new int[operations];
+        int[] shortLeftKeys = new int[operations];
+        
+        for (int i = 0; i < operations; i++) {
+            int key1 = random.nextInt(treeSize);
+            int key2 = random.nextInt(treeSize);
+            leftKeys[i] = Math.min(key1, key2);
+            rightKeys[i] = Math.max(key1, key2);
+            shortLeftKeys[i] = 
+                    random.nextInt(treeSize - SHORT_RANGE_LENGTH + 1);
+        }
+        
+        int measuredRounds = rounds - WARMUP_ROUNDS;
+        long[][][] durations = 
+                new long[WORKLOAD_NAMES.length][2][measuredRounds];
+        
+        boolean checksumsAgree = true;
+        
+        for (int round = 0; round < rounds; round++) {
+            // Both trees receive the same batch in the same round:
+            Map<Integer, Long> batch = new HashMap<>(operations / 10);
+            
+            for (int i = 0; i < operations / 10; i++) {
+                batch.merge(random.nextInt(treeSize), 
+                            (long) random.nextInt() - round, 
+                            Math::min);
+            }
+            
+            long[] checksums = new long[2];
+            
+            for (int run = 0; run < 2; run++) {
+                // Alternate the order of the two variants between rounds:
+                int variant = (round + run) % 2;
+                SemiDynamicLongBlockRMQTree<Integer> tree = 
+                        variant == 0 ? vectorTree : scalarTree;
+                
+                long[] workloadDurations = new long[WORKLOAD_NAMES.length];
+                
+                long start = System.nanoTime();
+                
+                for (int i = 0; i < operations; i++) {
+                    checksums[variant] += 
+                            tree.getRangeMinimum(leftKeys[i], rightKeys[i]);
+                }
+                
+                workloadDurations[0] = System.nanoTime() - start;
+                start = System.nanoTime();
+                
+                for (int i = 0; i < operations; i++) {
+                    checksums[variant] += 
+                            tree.getRangeMinimum(
+                                    shortLeftKeys[i], 
+                                    shortLeftKeys[i] + SHORT_RANGE_LENGTH - 1);
+                }
+                
+                workloadDurations[1] = System.nanoTime() - start;
+                start = System.nanoTime();
+                
+                tree.updateAll(batch);
+                
+                workloadDurations[2] = System.nanoTime() - start;
+                checksums[variant] += tree.getRangeMinimum(0, treeSize - 1);
+                
+                if (round >= WARMUP_ROUNDS) {
+                    for (int w = 0; w < WORKLOAD_NAMES.length; w++) {
+                        durations[w][variant][round - WARMUP_ROUNDS] = 
+                                workloadDurations[w];
+                    }
+                }
+            }
+            
+            checksumsAgree &= checksums[0] == checksums[1];
+        }
+        
+        for (int w = 0; w < WORKLOAD_NAMES.length; w++) {
+            long vectorMedian = median(durations[w][0]);
+            long scalarMedian = median(durations[w][1]);
+            
+            System.out.printf(
+                    "%s: vector %,d microseconds, scalar %,d microseconds, " + 
+                    "speedup %.2f.\n",
+                    WORKLOAD_NAMES[w],
+                    vectorMedian / 1_000L,
+                    scalarMedian / 1_000L,
+                    (double) scalarMedian / vectorMedian);
+        }
+        
+        System.out.printf("Checksums agree: %b.\n", checksumsAgree);
+    }
+    
+    private static long median(long[] durations) {
+        long[] sortedDurations = durations.clone();
+        Arrays.sort(sortedDurations);
+        return sortedDurations[sortedDurations.length / 2];
+    }
+}
@@ -1,13 +1,26 @@
 package com.github.coderodde.util;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.Deque;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Objects;
 import java.util.Set;
+import java.util.Spliterator;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 import com.github.coderodde.util.SemiDynamicRMQTreeBuilder.RMQTreeBuilderResult;
 import static com.github.coderodde.util.Utils.min;
 
@@ -20,6 +33,11 @@ import static com.github.coderodde.util.Utils.min;
  * {@link #getRangeMinimum(java.lang.Comparable, java.lang.Comparable) }. 
  * <p>
  * Building the tree takes {@code O(n log n)} time.
+ * <p>
+ * Optionally, the tree may keep a bounded LRU cache of range minima in front
+ * of {@link #getRangeMinimum(java.lang.Comparable, java.lang.Comparable)}. An
+ * update that decreases the value of a key drops exactly those cached ranges 
+ * that contain the key.
  * 
  * @param <K> the key type.
  * @param <V> the value type.
@@ -29,6 +47,9 @@ public final class SemiDynamicRMQTree<K extends Comparable<? super K>,
     
     private final AbstractRMQTreeNode<V> root;
     private final Map<K, LeafRMQTreeNode<V>> leafMap;
+    private final List<K> keyList;
+    private final List<LeafRMQTreeNode<V>> leafList;
+    private final RangeMinimumCache<K, V> rangeMinimumCache;
     
     /**
      * Construct an RMQ tree from the set of key/value pairs 
@@ -39,11 +60,211 @@ public final class SemiDynamicRMQTree<K extends Comparable<? super K>,
      *                        the RMQ tree.
      */
     public SemiDynamicRMQTree(Set<KeyValuePair<K, V>> keyValuePairSet) {
-        RMQTreeBuilderResult<K, V> result = 
-                SemiDynamicRMQTreeBuilder.buildRMQTree(keyValuePairSet);
+        this(keyValuePairSet, 0);
+    }
+    
+    /**
+     * Construct an RMQ tree from the set of key/value pairs 
+     * ({@link com.github.coderodde.util.KeyValuePair}) with a range minimum
+     * cache holding at most {@code cacheCapacity} ranges. Runs in 
+     * {@code O(n log n)} time.
+     * 
+     * @param keyValuePairSet the set of key/value pairs from which to construct
+     *                        the RMQ tree.
+     * @param cacheCapacity   the maximum number of cached ranges. Zero 
+     *                        disables the cache.
+     */
+    public SemiDynamicRMQTree(Set<KeyValuePair<K, V>> keyValuePairSet,
+                              int cacheCapacity) {
+        this(SemiDynamicRMQTreeBuilder.buildRMQTree(keyValuePairSet),
+             cacheCapacity);
+    }
+    
+    /**
+     * Constructs an RMQ tree from the already built tree data.
+     * 
+     * @param result        the tree data.
+     * @param cacheCapacity the maximum number of cached ranges. Zero disables
+     *                      the cache.
+     */
+    private SemiDynamicRMQTree(RMQTreeBuilderResult<K, V> result,
+                               int cacheCapacity) {
+        if (cacheCapacity < 0) {
+            throw new IllegalArgumentException(
+                    String.format(
+                            "The cache capacity [%d] is negative.", 
+                            cacheCapacity));
+        }
         
         root = result.getRoot();
         leafMap = result.getLeafMap();
+        keyList = result.getKeyList();
+        leafList = result.getLeafList();
+        rangeMinimumCache = 
+                cacheCapacity == 0 ? 
+                null :
+                new RangeMinimumCache<>(cacheCapacity);
+    }
+    
+    /**
+     * Reads a tree written by 
+     * {@link #writeTo(java.io.OutputStream, com.github.coderodde.util.RMQTreeCodec, com.github.coderodde.util.RMQTreeCodec)}
+     * from {@code in}, without a range minimum cache. See
+     * {@link #readFrom(java.io.InputStream, com.github.coderodde.util.RMQTreeCodec, com.github.coderodde.util.RMQTreeCodec, int)}.
+     * 
+     * @param <K>        the key type.
+     * @param <V>        the value type.
+     * @param in         the source stream.
+     * @param keyCodec   the key codec.
+     * @param valueCodec the value codec.
+     * @return the tree read.
+     * @throws IOException if the input fails or is malformed.
+     */
+    public static <K extends Comparable<? super K>,
+                   V extends Comparable<? super V>>
+                       
+        SemiDynamicRMQTree<K, V> readFrom(InputStream in,
+                                          RMQTreeCodec<K> keyCodec,
+                                          RMQTreeCodec<V> valueCodec) 
+                throws IOException {
+            
+        return readFrom(in, keyCodec, valueCodec, 0);
+    }
+    
+    /**
+     * Reads a tree written by 
+     * {@link #writeTo(java.io.OutputStream, com.github.coderodde.util.RMQTreeCodec, com.github.coderodde.util.RMQTreeCodec)}
+     * from {@code in}. The tree is built while streaming, without 
+     * materializing any key/value pairs. Runs in {@code O(n)} time. Consumes
+     * exactly the bytes of the tree, so that other data may follow it in 
+     * {@code in}. Does not close {@code in}.
+     * 
+     * @param <K>           the key type.
+     * @param <V>           the value type.
+     * @param in            the source stream.
+     * @param keyCodec      the key codec.
+     * @param valueCodec    the value codec.
+     * @param cacheCapacity the maximum number of cached ranges. Zero disables
+     *                      the cache.
+     * @return the tree read.
+     * @throws IOException if the input fails or is malformed.
+     */
+    public static <K extends Comparable<? super K>,
+                   V extends Comparable<? super V>>
+                       
+        SemiDynamicRMQTree<K, V> readFrom(InputStream in,
+                                          RMQTreeCodec<K> keyCodec,
+                                          RMQTreeCodec<V> valueCodec,
+                                          int cacheCapacity) 
+                throws IOException {
+            
+        Objects.requireNonNull(in, "The input stream is null.");
+        Objects.requireNonNull(keyCodec, "The key codec is null.");
+        Objects.requireNonNull(valueCodec, "The value codec is null.");
+        
+        return new SemiDynamicRMQTree<>(
+                SemiDynamicRMQTreeSerializer.read(keyCodec, valueCodec, in),
+                cacheCapacity);
+    }
+    
+    /**
+     * Reads a tree written by 
+     * {@link #writeTo(java.nio.channels.WritableByteChannel, com.github.coderodde.util.RMQTreeCodec, com.github.coderodde.util.RMQTreeCodec)}
+     * from {@code channel}, without a range minimum cache. See
+     * {@link #readFrom(java.io.InputStream, com.github.coderodde.util.RMQTreeCodec, com.github.coderodde.util.RMQTreeCodec, int)}.
+     * 
+     * @param <K>        the key type.
+     * @param <V>        the value type.
+     * @param channel    the source channel.
+     * @param keyCodec   the key codec.
+     * @param valueCodec the value codec.
+     * @return the tree read.
+     * @throws IOException if the input fails or is malformed.
+     */
+    public static <K extends Comparable<? super K>,
+                   V extends Comparable<? super V>>
+                       
+        SemiDynamicRMQTree<K, V> readFrom(ReadableByteChannel channel,
+                                          RMQTreeCodec<K> keyCodec,
+                                          RMQTreeCodec<V> valueCodec) 
+                throws IOException {
+            
+        return readFrom(channel, keyCodec, valueCodec, 0);
+    }
+    
+    /**
+     * Reads a tree written by 
+     * {@link #writeTo(java.nio.channels.WritableByteChannel, com.github.coderodde.util.RMQTreeCodec, com.github.coderodde.util.RMQTreeCodec)}
+     * from {@code channel}. See
+     * {@link #readFrom(java.io.InputStream, com.github.coderodde.util.RMQTreeCodec, com.github.coderodde.util.RMQTreeCodec, int)}.
+     * 
+     * @param <K>           the key type.
+     * @param <V>           the value type.
+     * @param channel       the source channel.
+     * @param keyCodec      the key codec.
+     * @param valueCodec    the value codec.
+     * @param cacheCapacity the maximum number of cached ranges. Zero disables
+     *                      the cache.
+     * @return the tree read.
+     * @throws IOException if the input fails or is malformed.
+     */
+    public static <K extends Comparable<? super K>,
+                   V extends Comparable<? super V>>
+                       
+        SemiDynamicRMQTree<K, V> readFrom(ReadableByteChannel channel,
+                                          RMQTreeCodec<K> keyCodec,
+                                          RMQTreeCodec<V> valueCodec,
+                                          int cacheCapacity) 
+                throws IOException {
+            
+        Objects.requireNonNull(channel, "The input channel is null.");
+        
+        return readFrom(Channels.newInputStream(channel), 
+                        keyCodec, 
+                        valueCodec, 
+                        cacheCapacity);
+    }
+    
+    /**
+     * Writes this tree to {@code out}: the sorted key column followed by the
+     * value column, each encoded by its codec. Runs in {@code O(n)} time. Does
+     * not close {@code out}.
+     * 
+     * @param out        the target stream.
+     * @param keyCodec   the key codec.
+     * @param valueCodec the value codec.
+     * @throws IOException if the output fails.
+     */
+    public void writeTo(OutputStream out,
+                        RMQTreeCodec<K> keyCodec,
+                        RMQTreeCodec<V> valueCodec) throws IOException {
+        
+        Objects.requireNonNull(out, "The output stream is null.");
+        Objects.requireNonNull(keyCodec, "The key codec is null.");
+        Objects.requireNonNull(valueCodec, "The value codec is null.");
+        
+        SemiDynamicRMQTreeSerializer.write(keyList, 
+                                           leafList, 
+                                           keyCodec, 
+                                           valueCodec, 
+                                           out);
+    }
+    
+    /**
+     * Writes this tree to {@code channel}. See 
+     * {@link #writeTo(java.io.OutputStream, com.github.coderodde.util.RMQTreeCodec, com.github.coderodde.util.RMQTreeCodec)}.
+     * 
+     * @param channel    the target channel.
+     * @param keyCodec   the key codec.
+     * @param valueCodec the value codec.
+     * @throws IOException if the output fails.
+     */
+    public void writeTo(WritableByteChannel channel,
+                        RMQTreeCodec<K> keyCodec,
+                        RMQTreeCodec<V> valueCodec) throws IOException {
+        
+        Objects.requireNonNull(channel, "The output channel is null.");
+        writeTo(Channels.newOutputStream(channel), keyCodec, valueCodec);
     }
     
     /**
@@ -68,21 +289,269 @@ public final class SemiDynamicRMQTree<K extends Comparable<? super K>,
     public void update(K key, V newValue) {
         AbstractRMQTreeNode<V> node = leafMap.get(key);
         
+        if (node != null 
+                && rangeMinimumCache != null
+                && newValue.compareTo(node.getValue()) < 0) {
+            rangeMinimumCache.invalidate(key);
+        }
+        
         while (node != null) {
             node.setValue(min(node.getValue(), newValue));
             node = node.getParent();
         }
     }
     
+    /**
+     * Associates each key in {@code keyValueMap} with its new value, as if by
+     * {@link #update(java.lang.Comparable, java.lang.Comparable)}, in a single
+     * propagation pass. The changed nodes are propagated one step towards the
+     * root at a time, so that an ancestor shared by several updated leaves is
+     * updated once per step instead of once per key, and the propagation stops
+     * at the nodes whose values do not change. Keys not in this tree are 
+     * ignored.
+     * 
+     * @param keyValueMap the map mapping the target keys to their new values.
+     */
+    public void updateAll(Map<K, V> keyValueMap) {
+        Set<AbstractRMQTreeNode<V>> changedNodes = new HashSet<>();
+        
+        for (Map.Entry<K, V> entry : keyValueMap.entrySet()) {
+            K key = entry.getKey();
+            V newValue = entry.getValue();
+            LeafRMQTreeNode<V> leaf = leafMap.get(key);
+            
+            if (leaf == null || newValue.compareTo(leaf.getValue()) >= 0) {
+                continue;
+            }
+            
+            if (rangeMinimumCache != null) {
+                rangeMinimumCache.invalidate(key);
+            }
+            
+            leaf.setValue(newValue);
+            changedNodes.add(leaf);
+        }
+        
+        while (!changedNodes.isEmpty()) {
+            Set<AbstractRMQTreeNode<V>> changedParents = new HashSet<>();
+            
+            for (AbstractRMQTreeNode<V> node : changedNodes) {
+                AbstractRMQTreeNode<V> parent = node.getParent();
+                
+                if (parent != null 
+                        && node.getValue().compareTo(parent.getValue()) < 0) {
+                    parent.setValue(node.getValue());
+                    changedParents.add(parent);
+                }
+            }
+            
+            changedNodes = changedParents;
+        }
+    }
+    
     /**
      * Given the range {@code R = [leftKey ... rightKey]}, return the minimum
-     * value in {@code R}. Runs in exact logarithmic time.
+     * value in {@code R}. Runs in exact logarithmic time, or in expected 
+     * constant time if {@code R} is cached.
      * 
      * @param leftKey  the leftmost key of the range.
      * @param rightKey the rightmost key of the range.
      * @return the minimum value in {@code R}.
      */
     public V getRangeMinimum(K leftKey, K rightKey) {
+        if (rangeMinimumCache == null) {
+            return getRangeMinimumImpl(leftKey, rightKey);
+        }
+        
+        KeyRange<K> range = new KeyRange<>(leftKey, rightKey);
+        V value = rangeMinimumCache.get(range);
+        
+        if (value == null) {
+            value = getRangeMinimumImpl(leftKey, rightKey);
+            rangeMinimumCache.put(range, value);
+        }
+        
+        return value;
+    }
+    
+    /**
+     * Passes each key/value pair with the key in the range 
+     * {@code [leftKey ... rightKey]} to {@code consumer} in key order. The 
+     * range bounds need not be in this tree. Runs in {@code O(log n + k)} 
+     * time, where {@code k} is the number of pairs in the range, and does not 
+     * allocate per pair.
+     * 
+     * @param leftKey  the smallest key of the range.
+     * @param rightKey the largest key of the range.
+     * @param consumer the key/value pair consumer.
+     */
+    public void forEachInRange(K leftKey, 
+                               K rightKey, 
+                               BiConsumer<? super K, ? super V> consumer) {
+        Objects.requireNonNull(consumer, "The consumer is null.");
+        
+        int startIndex = computeStartIndex(leftKey, rightKey);
+        int endIndex = computeEndIndex(rightKey);
+        
+        for (int i = startIndex; i < endIndex; i++) {
+            consumer.accept(keyList.get(i), leafList.get(i).getValue());
+        }
+    }
+    
+    /**
+     * Copies the keys and values in the range {@code [leftKey ... rightKey]} 
+     * in key order to {@code keyArray} and {@code valueArray}, starting from
+     * the index {@code offset}. Either of the arrays may be {@code null}, in 
+     * which case it is skipped. The range bounds need not be in this tree.
+     * 
+     * @param leftKey    the smallest key of the range.
+     * @param rightKey   the largest key of the range.
+     * @param keyArray   the destination array for keys.
+     * @param valueArray the destination array for values.
+     * @param offset     the first destination index.
+     * @return the number of key/value pairs copied.
+     * @throws IndexOutOfBoundsException if a destination array is too short.
+     */
+    public int copyRange(K leftKey, 
+                         K rightKey, 
+                         K[] keyArray, 
+                         V[] valueArray, 
+                         int offset) {
+        
+        int startIndex = computeStartIndex(leftKey, rightKey);
+        int endIndex = computeEndIndex(rightKey);
+        int count = endIndex - startIndex;
+        
+        if (keyArray != null) {
+            Objects.checkFromIndexSize(offset, count, keyArray.length);
+        }
+        
+        if (valueArray != null) {
+            Objects.checkFromIndexSize(offset, count, valueArray.length);
+        }
+        
+        for (int i = 0; i < count; i++) {
+            if (keyArray != null) {
+                keyArray[offset + i] = keyList.get(startIndex + i);
+            }
+            
+            if (valueArray != null) {
+                valueArray[offset + i] = 
+                        leafList.get(startIndex + i).getValue();
+            }
+        }
+        
+        return count;
+    }
+    
+    /**
+     * Returns a spliterator over the key/value pairs in the range 
+     * {@code [leftKey ... rightKey]} in key order. The spliterator splits the
+     * range in halves, so it may be used for parallel streams. The range 
+     * bounds need not be in this tree.
+     * 
+     * @param leftKey  the smallest key of the range.
+     * @param rightKey the largest key of the range.
+     * @return the spliterator over the range.
+     */
+    public Spliterator<KeyValuePair<K, V>> spliterator(K leftKey, K rightKey) {
+        int startIndex = computeStartIndex(leftKey, rightKey);
+        int endIndex = computeEndIndex(rightKey);
+        
+        return new RangeSpliterator<>(keyList, 
+                                      leafList, 
+                                      startIndex, 
+                                      endIndex);
+    }
+    
+    /**
+     * Returns the smallest key not less than {@code leftKey} whose value is 
+     * less than {@code threshold}. The key {@code leftKey} need not be in this
+     * tree. Runs in {@code O(log n)} time.
+     * 
+     * @param leftKey   the smallest key to consider.
+     * @param threshold the value threshold.
+     * @return the smallest matching key or {@code null} if there is none.
+     */
+    public K findFirstBelow(K leftKey, V threshold) {
+        Objects.requireNonNull(threshold, "The threshold is null.");
+        
+        int index = findFirstBelowIndex(computeCeilingIndex(leftKey), 
+                                        threshold);
+        
+        return index < 0 ? null : keyList.get(index);
+    }
+    
+    /**
+     * Returns the largest key not greater than {@code rightKey} whose value is 
+     * less than {@code threshold}. The key {@code rightKey} need not be in 
+     * this tree. Runs in {@code O(log n)} time.
+     * 
+     * @param rightKey  the largest key to consider.
+     * @param threshold the value threshold.
+     * @return the largest matching key or {@code null} if there is none.
+     */
+    public K findLastBelow(K rightKey, V threshold) {
+        Objects.requireNonNull(threshold, "The threshold is null.");
+        
+        int index = findLastBelowIndex(computeEndIndex(rightKey) - 1, 
+                                       threshold);
+        
+        return index < 0 ? null : keyList.get(index);
+    }
+    
+    /**
+     * Returns an iterator over the keys in the range 
+     * {@code [leftKey ... rightKey]} whose values are less than 
+     * {@code threshold}, in key order. The range bounds need not be in this 
+     * tree. Each key is found in {@code O(log n)} time.
+     * 
+     * @param leftKey   the smallest key of the range.
+     * @param rightKey  the largest key of the range.
+     * @param threshold the value threshold.
+     * @return the iterator over the matching keys.
+     */
+    public Iterator<K> iteratorBelow(K leftKey, K rightKey, V threshold) {
+        Objects.requireNonNull(threshold, "The threshold is null.");
+        
+        int startIndex = computeStartIndex(leftKey, rightKey);
+        int endIndex = computeEndIndex(rightKey);
+        
+        return new BelowThresholdIterator(startIndex, endIndex, threshold);
+    }
+    
+    /**
+     * Returns the statistics of the range minimum cache.
+     * 
+     * @return the cache statistics. If the cache is disabled, all the 
+     *         statistics are zero.
+     */
+    public RangeMinimumCacheStatistics getCacheStatistics() {
+        if (rangeMinimumCache == null) {
+            return new RangeMinimumCacheStatistics(0, 0, 0L, 0L, 0L, 0L);
+        }
+        
+        return rangeMinimumCache.getStatistics();
+    }
+    
+    /**
+     * Returns the root node of this tree. Is package-private in order to be
+     * accessible from the unit tests.
+     * 
+     * @return the root node of this tree. 
+     */
+    AbstractRMQTreeNode<V> getRoot() {
+        return root;
+    }
+    
+    /**
+     * Implements the actual range minimum query.
+     * 
+     * @param leftKey  the leftmost key of the range.
+     * @param rightKey the rightmost key of the range.
+     * @return the minimum value in the range.
+     */
+    private V getRangeMinimumImpl(K leftKey, K rightKey) {
         
         AbstractRMQTreeNode<V> leftLeaf  = leafMap.get(leftKey);
         
@@ -138,13 +607,157 @@ public final class SemiDynamicRMQTree<K extends Comparable<? super K>,
     }
     
     /**
-     * Returns the root node of this tree. Is package-private in order to be
-     * accessible from the unit tests.
+     * Computes the index of the first key not less than {@code leftKey}.
      * 
-     * @return the root node of this tree. 
+     * @param leftKey  the smallest key of the range.
+     * @param rightKey the largest key of the range.
+     * @return the first index of the range.
      */
-    AbstractRMQTreeNode<V> getRoot() {
-        return root;
+    private int computeStartIndex(K leftKey, K rightKey) {
+        if (leftKey.compareTo(rightKey) > 0) {
+            String exceptionMessage = 
+                    String.format(
+                            "The specified range [%s, %s] is descending.", 
+                            leftKey, 
+                            rightKey);
+            
+            throw new IllegalArgumentException(exceptionMessage);
+        }
+        
+        return computeCeilingIndex(leftKey);
+    }
+    
+    /**
+     * Computes the index of the first key not less than {@code key}.
+     * 
+     * @param key the target key.
+     * @return the index of the first key not less than {@code key}, or the 
+     *         number of keys if there is no such key.
+     */
+    private int computeCeilingIndex(K key) {
+        int index = Collections.binarySearch(keyList, key);
+        return index >= 0 ? index : -index - 1;
+    }
+    
+    /**
+     * Finds the smallest leaf index not less than {@code fromIndex} whose 
+     * value is less than {@code threshold}. Climbs from the leaf at 
+     * {@code fromIndex} until a right sibling subtree has its minimum below 
+     * the threshold, and then descends to the leftmost such leaf in it.
+     * 
+     * @param fromIndex the smallest leaf index to consider.
+     * @param threshold the value threshold.
+     * @return the matching leaf index or {@code -1} if there is none.
+     */
+    private int findFirstBelowIndex(int fromIndex, V threshold) {
+        if (fromIndex >= leafList.size()) {
+            return -1;
+        }
+        
+        AbstractRMQTreeNode<V> node = leafList.get(fromIndex);
+        
+        if (node.getValue().compareTo(threshold) < 0) {
+            return fromIndex;
+        }
+        
+        while (true) {
+            InternalRMQTreeNode<V> parent = 
+                    (InternalRMQTreeNode<V>) node.getParent();
+            
+            if (parent == null) {
+                return -1;
+            }
+            
+            AbstractRMQTreeNode<V> rightChild = parent.getRightChild();
+            
+            if (parent.getLeftChild() == node 
+                    && rightChild.getValue().compareTo(threshold) < 0) {
+                node = rightChild;
+                break;
+            }
+            
+            node = parent;
+        }
+        
+        // Each internal node holds the minimum of its children, so there is 
+        // always a child below the threshold:
+        while (node instanceof InternalRMQTreeNode) {
+            InternalRMQTreeNode<V> internalNode = 
+                    (InternalRMQTreeNode<V>) node;
+            
+            AbstractRMQTreeNode<V> leftChild = internalNode.getLeftChild();
+            
+            node = leftChild.getValue().compareTo(threshold) < 0 ? 
+                   leftChild : 
+                   internalNode.getRightChild();
+        }
+        
+        return ((LeafRMQTreeNode<V>) node).getIndex();
+    }
+    
+    /**
+     * Finds the largest leaf index not greater than {@code fromIndex} whose 
+     * value is less than {@code threshold}. Mirrors 
+     * {@link #findFirstBelowIndex(int, java.lang.Comparable)}.
+     * 
+     * @param fromIndex the largest leaf index to consider.
+     * @param threshold the value threshold.
+     * @return the matching leaf index or {@code -1} if there is none.
+     */
+    private int findLastBelowIndex(int fromIndex, V threshold) {
+        if (fromIndex < 0) {
+            return -1;
+        }
+        
+        AbstractRMQTreeNode<V> node = leafList.get(fromIndex);
+        
+        if (node.getValue().compareTo(threshold) < 0) {
+            return fromIndex;
+        }
+        
+        while (true) {
+            InternalRMQTreeNode<V> parent = 
+                    (InternalRMQTreeNode<V>) node.getParent();
+            
+            if (parent == null) {
+                return -1;
+            }
+            
+            AbstractRMQTreeNode<V> leftChild = parent.getLeftChild();
+            
+            if (parent.getRightChild() == node 
+                    && leftChild.getValue().compareTo(threshold) < 0) {
+                node = leftChild;
+                break;
+            }
+            
+            node = parent;
+        }
+        
+        while (node instanceof InternalRMQTreeNode) {
+            InternalRMQTreeNode<V> internalNode = 
+                    (InternalRMQTreeNode<V>) node;
+            
+            AbstractRMQTreeNode<V> rightChild = internalNode.getRightChild();
+            
+            node = rightChild.getValue().compareTo(threshold) < 0 ? 
+                   rightChild : 
+                   internalNode.getLeftChild();
+        }
+        
+        return ((LeafRMQTreeNode<V>) node).getIndex();
+    }
+    
+    /**
+     * Computes the index following the last key not greater than 
+     * {@code rightKey}.
+     * 
+     * @param rightKey the largest key of the range.
+     * @return the index one past the last index of the range.
+     */
+    private int computeEndIndex(K rightKey) {
+        int index = Collections.binarySearch(keyList, rightKey);
+        return index >= 0 ? index + 1 : -index - 1;
     }
     
     /**
@@ -185,6 +798,11 @@ public final class SemiDynamicRMQTree<K extends Comparable<? super K>,
         List<AbstractRMQTreeNode<V>> nodeList = new ArrayList<>();
         
         for (AbstractRMQTreeNode<V> node : path) {
+            if (!(node instanceof InternalRMQTreeNode)) {
+                // The leaf has no children:
+                continue;
+            }
+            
             InternalRMQTreeNode<V> parent = (InternalRMQTreeNode<V>) node;
             AbstractRMQTreeNode<V> leftChild  = parent.getLeftChild();
             AbstractRMQTreeNode<V> rightChild = parent.getRightChild();
@@ -209,6 +827,11 @@ public final class SemiDynamicRMQTree<K extends Comparable<? super K>,
         List<AbstractRMQTreeNode<V>> nodeList = new ArrayList<>();
         
         for (AbstractRMQTreeNode<V> node : path) {
+            if (!(node instanceof InternalRMQTreeNode)) {
+                // The leaf has no children:
+                continue;
+            }
+            
             InternalRMQTreeNode<V> parent = 
                     (InternalRMQTreeNode<V>) node;
             
@@ -225,7 +848,8 @@ public final class SemiDynamicRMQTree<K extends Comparable<? super K>,
     
     /**
      * Gets the path from {@code splitNode} to the {@code leaf}. The returned
-     * path will, however, exclude {@code splitNode} and {@code leaf}.
+     * path will, however, exclude {@code splitNode}. If {@code leaf} is the
+     * {@code splitNode}, the returned path is empty.
      *
      * @param splitNode the starting path node.
      * @param leafNode  the target node.
@@ -237,7 +861,7 @@ public final class SemiDynamicRMQTree<K extends Comparable<? super K>,
         
         List<AbstractRMQTreeNode<V>> path = new ArrayList<>();
         
-        AbstractRMQTreeNode<V> node = leafNode.getParent();
+        AbstractRMQTreeNode<V> node = leafNode;
         
         while (node != null && !node.equals(splitNode)) {
             path.add(node);
@@ -297,7 +921,7 @@ public final class SemiDynamicRMQTree<K extends Comparable<? super K>,
         
         while (!queue.isEmpty()) {
             AbstractRMQTreeNode<V> currentNode = queue.removeFirst();
-            stringBuilder.append(String.format("%s ", currentNode));
+            stringBuilder.append(currentNode).append(' ');
             
             if (currentNode instanceof InternalRMQTreeNode) {
                 
@@ -322,4 +946,119 @@ public final class SemiDynamicRMQTree<K extends Comparable<? super K>,
             }
         }
     }
+    
+    /**
+     * This class implements a splittable spliterator over a range of leaves.
+     * 
+     * @param <K> the key type.
+     * @param <V> the value type.
+     */
+    private static final 
+            class RangeSpliterator<K extends Comparable<? super K>, V> 
+            implements Spliterator<KeyValuePair<K, V>> {
+        
+        private final List<K> keyList;
+        private final List<LeafRMQTreeNode<V>> leafList;
+        private int index;
+        private final int endIndex;
+        
+        RangeSpliterator(List<K> keyList,
+                         List<LeafRMQTreeNode<V>> leafList,
+                         int index,
+                         int endIndex) {
+            this.keyList = keyList;
+            this.leafList = leafList;
+            this.index = index;
+            this.endIndex = endIndex;
+        }
+
+        @Override
+        public boolean tryAdvance(
+                Consumer<? super KeyValuePair<K, V>> action) {
+            if (index >= endIndex) {
+                return false;
+            }
+            
+            action.accept(new KeyValuePair<>(keyList.get(index),
+                                             leafList.get(index).getValue()));
+            index++;
+            return true;
+        }
+
+        @Override
+        public Spliterator<KeyValuePair<K, V>> trySplit() {
+            int middleIndex = (index + endIndex) >>> 1;
+            
+            if (middleIndex <= index) {
+                return null;
+            }
+            
+            Spliterator<KeyValuePair<K, V>> prefix = 
+                    new RangeSpliterator<>(keyList, 
+                                           leafList, 
+                                           index, 
+                                           middleIndex);
+            index = middleIndex;
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+            return endIndex - index;
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | SORTED | SIZED | SUBSIZED | NONNULL;
+        }
+        
+        @Override
+        public Comparator<? super KeyValuePair<K, V>> 
+            getComparator() {
+            // Key/value pairs are sorted by their natural order:
+            return null;
+        }
+    }
+    
+    /**
+     * This class implements an iterator over the keys whose values are below 
+     * a threshold.
+     */
+    private final class BelowThresholdIterator implements Iterator<K> {
+        
+        private final int endIndex;
+        private final V threshold;
+        private int nextIndex;
+        
+        BelowThresholdIterator(int startIndex, int endIndex, V threshold) {
+            this.endIndex = endIndex;
+            this.threshold = threshold;
+            this.nextIndex = findNext(startIndex);
+        }
+
+        @Override
+        public boolean hasNext() {
+            return nextIndex >= 0;
+        }
+
+        @Override
+        public K next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException("No more keys to iterate.");
+            }
+            
+            K key = keyList.get(nextIndex);
+            nextIndex = findNext(nextIndex + 1);
+            return key;
+        }
+        
+        private int findNext(int fromIndex) {
+            if (fromIndex >= endIndex) {
+                return -1;
+            }
+            
+            int index = findFirstBelowIndex(fromIndex, threshold);
+            return index < endIndex ? index : -1;
+        }
+    }
 }
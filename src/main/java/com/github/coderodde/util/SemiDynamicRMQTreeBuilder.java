@@ -46,13 +46,62 @@ final class SemiDynamicRMQTreeBuilder<K extends Comparable<? super K>,
         
         Collections.sort(keyValuePairList);
         
-        Map<K, LeafRMQTreeNode<V>> mapKeyToLeafNode = new HashMap<>();
+        List<K> keyList = new ArrayList<>(keyValuePairList.size());
+        List<LeafRMQTreeNode<V>> leafList = 
+                new ArrayList<>(keyValuePairList.size());
+        
+        for (KeyValuePair<K, V> keyValuePair : keyValuePairList) {
+            keyList.add(keyValuePair.getKey());
+            leafList.add(createLeaf(keyValuePair.getValue(), leafList.size()));
+        }
+        
+        return buildRMQTree(keyList, leafList);
+    }
+        
+    /**
+     * Builds the tree on top of the leaves sorted by their keys.
+     * 
+     * @param <K>      the key type.
+     * @param <V>      the value type.
+     * @param keyList  the sorted list of keys.
+     * @param leafList the leaves in key order. The leaf indices must be set.
+     * @return the tree data.
+     */
+    static <K extends Comparable<? super K>,
+            V extends Comparable<? super V>>
+                    
+    RMQTreeBuilderResult<K, V> 
+        buildRMQTree(List<K> keyList, List<LeafRMQTreeNode<V>> leafList) {
+            
+        Map<K, LeafRMQTreeNode<V>> mapKeyToLeafNode = 
+                new HashMap<>(leafList.size() * 4 / 3 + 1);
+        
+        for (int i = 0; i < keyList.size(); i++) {
+            mapKeyToLeafNode.put(keyList.get(i), leafList.get(i));
+        }
         
         AbstractRMQTreeNode<V> root = 
-                buildRMQTreeImpl(keyValuePairList, 
-                                 mapKeyToLeafNode);
+                buildRMQTreeImpl(leafList, 0, leafList.size());
         
-        return new RMQTreeBuilderResult<>(mapKeyToLeafNode, root);
+        return new RMQTreeBuilderResult<>(mapKeyToLeafNode, 
+                                          keyList, 
+                                          leafList, 
+                                          root);
+    }
+        
+    /**
+     * Creates a leaf node.
+     * 
+     * @param <V>   the value type.
+     * @param value the value of the leaf.
+     * @param index the index of the leaf in the key order.
+     * @return the new leaf node.
+     */
+    static <V> LeafRMQTreeNode<V> createLeaf(V value, int index) {
+        LeafRMQTreeNode<V> leaf = new LeafRMQTreeNode<>();
+        leaf.setValue(value);
+        leaf.setIndex(index);
+        return leaf;
     }
  
     /**
@@ -62,41 +111,31 @@ final class SemiDynamicRMQTreeBuilder<K extends Comparable<? super K>,
      * not stored actual keys to the internal nodes, except to the leaf nodes,
      * unlike the algorithm in Task9.java.
      * 
-     * @param <K>               the key type.
-     * @param <V>               the value type.
-     * @param keyValuePairs     the set of key/value pairs.
-     * @param mapKeyToLeafNodes the map mapping keys to leaf nodes.
+     * @param <V>        the value type.
+     * @param leafList   the leaves in key order.
+     * @param fromIndex  the first leaf index of the subtree.
+     * @param toIndex    the last leaf index of the subtree, exclusive.
      * @return local root of the tree constructed.
      */
-    private static <K extends Comparable<? super K>,
-                    V extends Comparable<? super V>>
+    private static <V extends Comparable<? super V>>
                     
     AbstractRMQTreeNode<V> 
-        buildRMQTreeImpl(List<KeyValuePair<K, V>> keyValuePairs, 
-                         Map<K, LeafRMQTreeNode<V>> mapKeyToLeafNodes) {
+        buildRMQTreeImpl(List<LeafRMQTreeNode<V>> leafList, 
+                         int fromIndex,
+                         int toIndex) {
             
-        if (keyValuePairs.size() == 1) {
-            KeyValuePair<K, V> keyValuePair = keyValuePairs.get(0);
-            LeafRMQTreeNode<V> leaf = new LeafRMQTreeNode<>();
-            leaf.setValue(keyValuePair.getValue());
-            mapKeyToLeafNodes.put(keyValuePair.getKey(), leaf);
-            return leaf;
+        if (toIndex - fromIndex == 1) {
+            return leafList.get(fromIndex);
         }
         
         // middleIndex goes to the right:
-        int middleIndex = keyValuePairs.size() / 2;
+        int middleIndex = fromIndex + (toIndex - fromIndex) / 2;
 
         AbstractRMQTreeNode<V> leftSubTreeRoot
-                = buildRMQTreeImpl(
-                        keyValuePairs.subList(0, middleIndex),
-                        mapKeyToLeafNodes);
+                = buildRMQTreeImpl(leafList, fromIndex, middleIndex);
 
         AbstractRMQTreeNode<V> rightSubTreeRoot
-                = buildRMQTreeImpl(
-                        keyValuePairs.subList(
-                                middleIndex,
-                                keyValuePairs.size()),
-                        mapKeyToLeafNodes);
+                = buildRMQTreeImpl(leafList, middleIndex, toIndex);
 
         InternalRMQTreeNode<V> localRoot = new InternalRMQTreeNode<>();
         
@@ -118,11 +157,17 @@ final class SemiDynamicRMQTreeBuilder<K extends Comparable<? super K>,
                                        V extends Comparable<? super V>> {
         
         private final Map<K, LeafRMQTreeNode<V>> leafMap;
+        private final List<K> keyList;
+        private final List<LeafRMQTreeNode<V>> leafList;
         private final AbstractRMQTreeNode<V> root;
         
         RMQTreeBuilderResult(Map<K, LeafRMQTreeNode<V>> leafMap,
+                             List<K> keyList,
+                             List<LeafRMQTreeNode<V>> leafList,
                              AbstractRMQTreeNode<V> root) {
             this.leafMap = leafMap;
+            this.keyList = keyList;
+            this.leafList = leafList;
             this.root = root;
         }
         
@@ -130,6 +175,14 @@ final class SemiDynamicRMQTreeBuilder<K extends Comparable<? super K>,
             return leafMap;
         }
         
+        List<K> getKeyList() {
+            return keyList;
+        }
+        
+        List<LeafRMQTreeNode<V>> getLeafList() {
+            return leafList;
+        }
+        
         AbstractRMQTreeNode<V> getRoot() {
             return root;
         }
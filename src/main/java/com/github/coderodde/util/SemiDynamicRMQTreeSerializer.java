@@ -0,0 +1,319 @@
+package com.github.coderodde.util;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import com.github.coderodde.util.SemiDynamicRMQTreeBuilder.RMQTreeBuilderResult;
+import static com.github.coderodde.util.RMQTreeCodecs.readVarLong;
+import static com.github.coderodde.util.RMQTreeCodecs.writeVarLong;
+
+/**
+ * This class implements the binary format of 
+ * {@link com.github.coderodde.util.SemiDynamicRMQTree}. The format consists of
+ * a header (magic number and version), followed by the payload: the number of
+ * keys, the key column in ascending order and the value column in key order.
+ * The columns are encoded by the user-supplied 
+ * {@link com.github.coderodde.util.RMQTreeCodec}s.
+ * <p>
+ * The payload is split into chunks of at most {@code CHUNK_SIZE} bytes, each
+ * preceded by its length, and is terminated by an empty chunk. This way, the
+ * reader buffers whole chunks while never reading past the end of the tree
+ * data, so that several trees (or other data) may follow each other in one 
+ * stream.
+ */
+final class SemiDynamicRMQTreeSerializer {
+    
+    private static final int MAGIC = 0x524D5154; // "RMQT"
+    private static final int VERSION = 1;
+    private static final int CHUNK_SIZE = 1 << 16;
+    private static final int MAXIMUM_INITIAL_CAPACITY = 1 << 20;
+    
+    private SemiDynamicRMQTreeSerializer() {
+        
+    }
+    
+    /**
+     * Writes the keys and the leaf values to {@code out}. Does not close 
+     * {@code out}.
+     * 
+     * @param <K>        the key type.
+     * @param <V>        the value type.
+     * @param keyList    the sorted list of keys.
+     * @param leafList   the leaves in key order.
+     * @param keyCodec   the key codec.
+     * @param valueCodec the value codec.
+     * @param out        the target stream.
+     * @throws IOException if the output fails.
+     */
+    static <K, V> void write(List<K> keyList,
+                             List<LeafRMQTreeNode<V>> leafList,
+                             RMQTreeCodec<K> keyCodec,
+                             RMQTreeCodec<V> valueCodec,
+                             OutputStream out) throws IOException {
+        
+        DataOutputStream headerOutputStream = new DataOutputStream(out);
+        
+        headerOutputStream.writeInt(MAGIC);
+        headerOutputStream.writeByte(VERSION);
+        
+        ChunkedOutputStream chunkedOutputStream = 
+                new ChunkedOutputStream(headerOutputStream);
+        
+        DataOutputStream dataOutputStream = 
+                new DataOutputStream(chunkedOutputStream);
+        
+        writeVarLong(keyList.size(), dataOutputStream);
+        
+        K previousKey = null;
+        
+        for (K key : keyList) {
+            keyCodec.write(previousKey, key, dataOutputStream);
+            previousKey = key;
+        }
+        
+        V previousValue = null;
+        
+        for (LeafRMQTreeNode<V> leaf : leafList) {
+            V value = leaf.getValue();
+            valueCodec.write(previousValue, value, dataOutputStream);
+            previousValue = value;
+        }
+        
+        dataOutputStream.flush();
+        chunkedOutputStream.finish();
+    }
+    
+    /**
+     * Reads the keys and the values from {@code in} and builds the tree while
+     * streaming: each value is stored directly into a new leaf. Consumes 
+     * exactly the bytes written by 
+     * {@link #write(java.util.List, java.util.List, com.github.coderodde.util.RMQTreeCodec, com.github.coderodde.util.RMQTreeCodec, java.io.OutputStream)}.
+     * Does not close {@code in}.
+     * 
+     * @param <K>        the key type.
+     * @param <V>        the value type.
+     * @param keyCodec   the key codec.
+     * @param valueCodec the value codec.
+     * @param in         the source stream.
+     * @return the tree data.
+     * @throws IOException if the input fails or is malformed.
+     */
+    static <K extends Comparable<? super K>,
+            V extends Comparable<? super V>>
+                    
+    RMQTreeBuilderResult<K, V> read(RMQTreeCodec<K> keyCodec,
+                                    RMQTreeCodec<V> valueCodec,
+                                    InputStream in) throws IOException {
+        
+        DataInputStream headerInputStream = new DataInputStream(in);
+        
+        if (headerInputStream.readInt() != MAGIC) {
+            throw new IOException("The input is not a serialized RMQ tree.");
+        }
+        
+        int version = headerInputStream.readUnsignedByte();
+        
+        if (version != VERSION) {
+            throw new IOException(
+                    String.format("Unsupported format version [%d].", 
+                                  version));
+        }
+        
+        ChunkedInputStream chunkedInputStream = 
+                new ChunkedInputStream(headerInputStream);
+        
+        DataInputStream dataInputStream = 
+                new DataInputStream(chunkedInputStream);
+        
+        long size = readVarLong(dataInputStream);
+        
+        if (size < 1L || size > Integer.MAX_VALUE) {
+            throw new IOException(
+                    String.format("Invalid number of keys [%d].", size));
+        }
+        
+        int initialCapacity = (int) Math.min(size, MAXIMUM_INITIAL_CAPACITY);
+        List<K> keyList = new ArrayList<>(initialCapacity);
+        List<LeafRMQTreeNode<V>> leafList = new ArrayList<>(initialCapacity);
+        
+        K previousKey = null;
+        
+        for (int i = 0; i < size; i++) {
+            K key = keyCodec.read(previousKey, dataInputStream);
+            
+            if (previousKey != null && previousKey.compareTo(key) >= 0) {
+                throw new IOException(
+                        String.format(
+                                "The keys [%s] and [%s] are not ascending.",
+                                previousKey,
+                                key));
+            }
+            
+            keyList.add(key);
+            previousKey = key;
+        }
+        
+        V previousValue = null;
+        
+        for (int i = 0; i < size; i++) {
+            V value = valueCodec.read(previousValue, dataInputStream);
+            leafList.add(SemiDynamicRMQTreeBuilder.createLeaf(value, i));
+            previousValue = value;
+        }
+        
+        chunkedInputStream.finish();
+        
+        return SemiDynamicRMQTreeBuilder.buildRMQTree(keyList, leafList);
+    }
+    
+    /**
+     * This class buffers the payload and writes it in length-prefixed chunks.
+     */
+    private static final class ChunkedOutputStream extends OutputStream {
+        
+        private final DataOutputStream out;
+        private final byte[] buffer = new byte[CHUNK_SIZE];
+        private int size;
+        
+        ChunkedOutputStream(DataOutputStream out) {
+            this.out = out;
+        }
+        
+        @Override
+        public void write(int b) throws IOException {
+            if (size == buffer.length) {
+                writeChunk();
+            }
+            
+            buffer[size++] = (byte) b;
+        }
+        
+        @Override
+        public void write(byte[] bytes, int offset, int length) 
+                throws IOException {
+            
+            while (length > 0) {
+                if (size == buffer.length) {
+                    writeChunk();
+                }
+                
+                int count = Math.min(length, buffer.length - size);
+                System.arraycopy(bytes, offset, buffer, size, count);
+                size += count;
+                offset += count;
+                length -= count;
+            }
+        }
+        
+        /**
+         * Writes the last chunk and the terminating empty chunk, and flushes 
+         * the target stream.
+         * 
+         * @throws IOException if the output fails.
+         */
+        void finish() throws IOException {
+            writeChunk();
+            out.writeInt(0);
+            out.flush();
+        }
+        
+        private void writeChunk() throws IOException {
+            if (size > 0) {
+                out.writeInt(size);
+                out.write(buffer, 0, size);
+                size = 0;
+            }
+        }
+    }
+    
+    /**
+     * This class reads the length-prefixed chunks one at a time. A chunk is 
+     * read only after the previous one is exhausted, so no byte past the 
+     * terminating empty chunk is ever consumed.
+     */
+    private static final class ChunkedInputStream extends InputStream {
+        
+        private final DataInputStream in;
+        private final byte[] buffer = new byte[CHUNK_SIZE];
+        private int size;
+        private int position;
+        private boolean terminated;
+        
+        ChunkedInputStream(DataInputStream in) {
+            this.in = in;
+        }
+        
+        @Override
+        public int read() throws IOException {
+            if (position == size && !readChunk()) {
+                return -1;
+            }
+            
+            return buffer[position++] & 0xff;
+        }
+        
+        @Override
+        public int read(byte[] bytes, int offset, int length) 
+                throws IOException {
+            
+            if (length == 0) {
+                return 0;
+            }
+            
+            if (position == size && !readChunk()) {
+                return -1;
+            }
+            
+            int count = Math.min(length, size - position);
+            System.arraycopy(buffer, position, bytes, offset, count);
+            position += count;
+            return count;
+        }
+        
+        /**
+         * Makes sure the payload is fully consumed: the current chunk must be 
+         * exhausted and followed by the terminating empty chunk.
+         * 
+         * @throws IOException if the payload has trailing data.
+         */
+        void finish() throws IOException {
+            if (position < size || readChunk()) {
+                throw new IOException(
+                        "The payload has data past the value column.");
+            }
+        }
+        
+        /**
+         * Reads the next chunk into the buffer.
+         * 
+         * @return {@code false} if the terminating empty chunk was reached.
+         * @throws IOException if the input fails or is malformed.
+         */
+        private boolean readChunk() throws IOException {
+            if (terminated) {
+                return false;
+            }
+            
+            int chunkSize = in.readInt();
+            
+            if (chunkSize < 0 || chunkSize > buffer.length) {
+                throw new IOException(
+                        String.format("Invalid chunk size [%d].", chunkSize));
+            }
+            
+            if (chunkSize == 0) {
+                terminated = true;
+                return false;
+            }
+            
+            in.readFully(buffer, 0, chunkSize);
+            size = chunkSize;
+            position = 0;
+            return true;
+        }
+    }
+}
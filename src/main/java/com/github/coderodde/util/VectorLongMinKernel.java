@@ -0,0 +1,54 @@
+package com.github.coderodde.util;
+
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * This class implements the SIMD minimum kernel over {@code long} arrays. It 
+ * must be loaded only if {@link LongMinKernels#VECTOR_API_AVAILABLE} is set.
+ */
+final class VectorLongMinKernel {
+    
+    private static final VectorSpecies<Long> SPECIES = 
+            LongVector.SPECIES_PREFERRED;
+    
+    private VectorLongMinKernel() {
+        
+    }
+    
+    /**
+     * Computes the minimum of {@code array[fromIndex ... toIndex - 1]}. Whole
+     * vectors are combined lane-wise and reduced with 
+     * {@code reduceLanes(VectorOperators.MIN)}; the tail shorter than a vector
+     * is scanned one element at a time.
+     * 
+     * @param array     the array to scan.
+     * @param fromIndex the first index, inclusive.
+     * @param toIndex   the last index, exclusive.
+     * @return the minimum value or {@link java.lang.Long#MAX_VALUE} if the 
+     *         range is empty.
+     */
+    static long min(long[] array, int fromIndex, int toIndex) {
+        long minValue = Long.MAX_VALUE;
+        int i = fromIndex;
+        int upperBound = fromIndex + SPECIES.loopBound(toIndex - fromIndex);
+        
+        if (i < upperBound) {
+            LongVector minVector = LongVector.fromArray(SPECIES, array, i);
+            
+            for (i += SPECIES.length(); i < upperBound; i += SPECIES.length()) {
+                minVector = minVector.min(
+                        LongVector.fromArray(SPECIES, array, i));
+            }
+            
+            minValue = minVector.reduceLanes(VectorOperators.MIN);
+        }
+        
+        for (; i < toIndex; i++) {
+            minValue = Math.min(minValue, array[i]);
+        }
+        
+        return minValue;
+    }
+}
@@ -0,0 +1,191 @@
+package com.github.coderodde.util;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.locks.Lock;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import org.junit.Test;
+
+public class AsyncSemiDynamicRMQTreeTest {
+
+    @Test
+    public void passesOnQueriesAndUpdates() {
+        try (AsyncSemiDynamicRMQTree<Integer, Long> asyncTree =
+                new AsyncSemiDynamicRMQTree<>(createTree(100))) {
+
+            assertEquals(Long.valueOf(10L),
+                         asyncTree.getRangeMinimum(10, 20).join());
+
+            List<CompletableFuture<Void>> updates = new ArrayList<>();
+
+            updates.add(asyncTree.update(15, 3L));
+            updates.add(asyncTree.update(15, 5L));
+            updates.add(asyncTree.update(50, -1L));
+
+            CompletableFuture.allOf(updates.toArray(new CompletableFuture[0]))
+                             .join();
+
+            assertEquals(Long.valueOf(3L),
+                         asyncTree.getRangeMinimum(10, 20).join());
+
+            assertEquals(Long.valueOf(-1L),
+                         asyncTree.getRangeMinimum(1, 100).join());
+        }
+    }
+
+    @Test
+    public void passesOnConcurrentIdenticalQueries() {
+        try (AsyncSemiDynamicRMQTree<Integer, Long> asyncTree =
+                new AsyncSemiDynamicRMQTree<>(createTree(1000))) {
+
+            List<CompletableFuture<Long>> futures = new ArrayList<>();
+
+            for (int i = 0; i < 100; i++) {
+                futures.add(asyncTree.getRangeMinimum(300, 700));
+            }
+
+            for (CompletableFuture<Long> future : futures) {
+                assertEquals(Long.valueOf(300L), future.join());
+            }
+        }
+    }
+
+    @Test
+    public void coalescesIdenticalInFlightQueries() {
+        // The cache of capacity 1 counts the queries reaching the tree:
+        SemiDynamicRMQTree<Integer, Long> tree = createTree(1000, 1);
+
+        try (AsyncSemiDynamicRMQTree<Integer, Long> asyncTree =
+                new AsyncSemiDynamicRMQTree<>(tree)) {
+
+            List<CompletableFuture<Long>> futures = new ArrayList<>();
+            Lock writeLock = asyncTree.getTreeLock().writeLock();
+
+            writeLock.lock();
+
+            try {
+                for (int i = 0; i < 100; i++) {
+                    futures.add(asyncTree.getRangeMinimum(300, 700));
+                }
+
+                for (CompletableFuture<Long> future : futures) {
+                    assertFalse(future.isDone());
+                }
+            } finally {
+                writeLock.unlock();
+            }
+
+            for (CompletableFuture<Long> future : futures) {
+                assertEquals(Long.valueOf(300L), future.join());
+            }
+        }
+
+        RangeMinimumCacheStatistics statistics = tree.getCacheStatistics();
+
+        assertEquals(1L, statistics.getHits() + statistics.getMisses());
+    }
+
+    @Test
+    public void rejectsWhenTooManyOperationsArePending() {
+        try (AsyncSemiDynamicRMQTree<Integer, Long> asyncTree =
+                new AsyncSemiDynamicRMQTree<>(createTree(100), 1)) {
+
+            CompletableFuture<Long> acceptedQuery;
+            CompletableFuture<Long> coalescedQuery;
+            CompletableFuture<Long> rejectedQuery;
+            CompletableFuture<Void> rejectedUpdate;
+            Lock writeLock = asyncTree.getTreeLock().writeLock();
+
+            writeLock.lock();
+
+            try {
+                acceptedQuery  = asyncTree.getRangeMinimum(1, 10);
+                coalescedQuery = asyncTree.getRangeMinimum(1, 10);
+                rejectedQuery  = asyncTree.getRangeMinimum(2, 10);
+                rejectedUpdate = asyncTree.update(5, 0L);
+
+                assertFalse(acceptedQuery.isDone());
+                assertFalse(coalescedQuery.isDone());
+            } finally {
+                writeLock.unlock();
+            }
+
+            assertRejected(rejectedQuery);
+            assertRejected(rejectedUpdate);
+
+            assertEquals(Long.valueOf(1L), acceptedQuery.join());
+            assertEquals(Long.valueOf(1L), coalescedQuery.join());
+
+            // The permit is released once the accepted query completes:
+            asyncTree.update(5, 0L).join();
+
+            assertEquals(Long.valueOf(0L),
+                         asyncTree.getRangeMinimum(2, 10).join());
+        }
+    }
+
+    @Test
+    public void failsOnMissingKey() {
+        try (AsyncSemiDynamicRMQTree<Integer, Long> asyncTree =
+                new AsyncSemiDynamicRMQTree<>(createTree(10))) {
+
+            asyncTree.getRangeMinimum(1, 11).join();
+            fail("Should have thrown.");
+        } catch (CompletionException ex) {
+            assertTrue(ex.getCause() instanceof NullPointerException);
+        }
+    }
+
+    @Test
+    public void failsAfterClose() {
+        AsyncSemiDynamicRMQTree<Integer, Long> asyncTree =
+                new AsyncSemiDynamicRMQTree<>(createTree(10));
+
+        asyncTree.close();
+
+        assertClosed(asyncTree.getRangeMinimum(1, 10));
+        assertClosed(asyncTree.update(5, 0L));
+    }
+
+    private static void assertClosed(CompletableFuture<?> future) {
+        try {
+            future.join();
+            fail("Should have failed.");
+        } catch (CompletionException ex) {
+            assertTrue(ex.getCause() instanceof IllegalStateException);
+        }
+    }
+
+    private static void assertRejected(CompletableFuture<?> future) {
+        try {
+            future.join();
+            fail("Should have been rejected.");
+        } catch (CompletionException ex) {
+            assertTrue(ex.getCause() instanceof RejectedExecutionException);
+        }
+    }
+
+    private static SemiDynamicRMQTree<Integer, Long> createTree(int size) {
+        return createTree(size, 0);
+    }
+
+    private static SemiDynamicRMQTree<Integer, Long>
+        createTree(int size, int cacheCapacity) {
+
+        Set<KeyValuePair<Integer, Long>> keyValuePairSet = new HashSet<>(size);
+
+        for (int i = 1; i <= size; i++) {
+            keyValuePairSet.add(new KeyValuePair<>(i, Long.valueOf(i)));
+        }
+
+        return new SemiDynamicRMQTree<>(keyValuePairSet, cacheCapacity);
+    }
+}
@@ -0,0 +1,86 @@
+package com.github.coderodde.util;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import static org.junit.Assert.assertEquals;
+import org.junit.Test;
+
+public class SemiDynamicBlockRMQTreeTest {
+    
+    @Test
+    public void passesOnTreeWith4Nodes() {
+        Set<KeyValuePair<Integer, Long>> keyValuePairSet = new HashSet<>(4);
+        
+        keyValuePairSet.add(new KeyValuePair<>(2, 2L));
+        keyValuePairSet.add(new KeyValuePair<>(4, 4L));
+        keyValuePairSet.add(new KeyValuePair<>(1, 1L));
+        keyValuePairSet.add(new KeyValuePair<>(3, 3L));
+        
+        SemiDynamicBlockRMQTree<Integer, Long> tree = 
+                new SemiDynamicBlockRMQTree<>(keyValuePairSet, 2);
+        
+        assertEquals(Long.valueOf(1L), tree.getRangeMinimum(1, 2));
+        assertEquals(Long.valueOf(3L), tree.getRangeMinimum(3, 4));
+        assertEquals(Long.valueOf(2L), tree.getRangeMinimum(2, 4));
+        assertEquals(Long.valueOf(4L), tree.getRangeMinimum(4, 4));
+        assertEquals(Long.valueOf(1L), tree.getRangeMinimum(1, 4));
+        
+        tree.update(4, -1L);
+        
+        assertEquals(Long.valueOf(-1L), tree.getRangeMinimum(4, 4));
+        assertEquals(Long.valueOf(-1L), tree.getRangeMinimum(1, 4));
+        assertEquals(Long.valueOf(2L), tree.getRangeMinimum(2, 3));
+    }
+    
+    @Test
+    public void agreesWithBruteForce() {
+        Random random = new Random(13L);
+        
+        for (int fanOut : new int[]{ 2, 3, 8, 16 }) {
+            int size = 1 + random.nextInt(500);
+            long[] values = new long[size];
+            Set<KeyValuePair<Integer, Long>> keyValuePairSet = 
+                    new HashSet<>(size);
+            
+            for (int i = 0; i < size; i++) {
+                values[i] = random.nextInt(1000);
+                keyValuePairSet.add(new KeyValuePair<>(i, values[i]));
+            }
+            
+            SemiDynamicBlockRMQTree<Integer, Long> tree = 
+                    new SemiDynamicBlockRMQTree<>(keyValuePairSet, fanOut);
+            
+            for (int iteration = 0; iteration < 1000; iteration++) {
+                int key1 = random.nextInt(size);
+                int key2 = random.nextInt(size);
+                int leftKey = Math.min(key1, key2);
+                int rightKey = Math.max(key1, key2);
+                
+                long expected = Long.MAX_VALUE;
+                
+                for (int i = leftKey; i <= rightKey; i++) {
+                    expected = Math.min(expected, values[i]);
+                }
+                
+                assertEquals(Long.valueOf(expected), 
+                             tree.getRangeMinimum(leftKey, rightKey));
+                
+                int key = random.nextInt(size);
+                long value = random.nextInt(1000);
+                values[key] = Math.min(values[key], value);
+                tree.update(key, value);
+            }
+        }
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void throwsOnDescendingRange() {
+        Set<KeyValuePair<Integer, Long>> keyValuePairSet = new HashSet<>(2);
+        
+        keyValuePairSet.add(new KeyValuePair<>(1, 1L));
+        keyValuePairSet.add(new KeyValuePair<>(2, 2L));
+        
+        new SemiDynamicBlockRMQTree<>(keyValuePairSet).getRangeMinimum(2, 1);
+    }
+}
@@ -0,0 +1,177 @@
+package com.github.coderodde.util;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import org.junit.Test;
+
+public class SemiDynamicLongBlockRMQTreeTest {
+    
+    @Test
+    public void passesOnTreeWith4Nodes() {
+        Set<KeyValuePair<Integer, Long>> keyValuePairSet = new HashSet<>(4);
+        
+        keyValuePairSet.add(new KeyValuePair<>(2, 2L));
+        keyValuePairSet.add(new KeyValuePair<>(4, 4L));
+        keyValuePairSet.add(new KeyValuePair<>(1, 1L));
+        keyValuePairSet.add(new KeyValuePair<>(3, 3L));
+        
+        SemiDynamicLongBlockRMQTree<Integer> tree = 
+                new SemiDynamicLongBlockRMQTree<>(keyValuePairSet, 2);
+        
+        assertEquals(1L, tree.getRangeMinimum(1, 2));
+        assertEquals(3L, tree.getRangeMinimum(3, 4));
+        assertEquals(2L, tree.getRangeMinimum(2, 4));
+        assertEquals(4L, tree.getRangeMinimum(4, 4));
+        assertEquals(1L, tree.getRangeMinimum(1, 4));
+        
+        tree.update(4, -1L);
+        
+        assertEquals(-1L, tree.getRangeMinimum(4, 4));
+        assertEquals(-1L, tree.getRangeMinimum(1, 4));
+        assertEquals(2L, tree.getRangeMinimum(2, 3));
+    }
+    
+    @Test
+    public void agreesWithBruteForceWithScalarKernel() {
+        agreesWithBruteForce(false);
+    }
+    
+    @Test
+    public void agreesWithBruteForceWithVectorKernel() {
+        if (LongMinKernels.VECTOR_API_AVAILABLE) {
+            agreesWithBruteForce(true);
+        }
+    }
+    
+    @Test
+    public void vectorKernelAgreesWithScalarKernel() {
+        if (!LongMinKernels.VECTOR_API_AVAILABLE) {
+            return;
+        }
+        
+        Random random = new Random(17L);
+        long[] array = new long[300];
+        
+        for (int i = 0; i < array.length; i++) {
+            array[i] = random.nextLong();
+        }
+        
+        for (int fromIndex = 0; fromIndex < 40; fromIndex++) {
+            for (int toIndex = fromIndex; toIndex <= array.length; toIndex++) {
+                assertEquals(
+                        LongMinKernels.scalarMin(array, fromIndex, toIndex),
+                        LongMinKernels.min(array, fromIndex, toIndex, true));
+            }
+        }
+    }
+    
+    @Test
+    public void usesScalarKernelByDefault() {
+        Set<KeyValuePair<Integer, Long>> keyValuePairSet = new HashSet<>(1);
+        keyValuePairSet.add(new KeyValuePair<>(1, 1L));
+        
+        SemiDynamicLongBlockRMQTree<Integer> tree = 
+                new SemiDynamicLongBlockRMQTree<>(keyValuePairSet);
+        
+        assertFalse(tree.isVectorized());
+        
+        if (LongMinKernels.VECTOR_API_AVAILABLE) {
+            tree.setVectorized(true);
+            
+            assertTrue(tree.isVectorized());
+            assertEquals(1L, tree.getRangeMinimum(1, 1));
+        }
+    }
+    
+    @Test
+    public void throwsOnVectorizingWithoutVectorAPI() {
+        if (LongMinKernels.VECTOR_API_AVAILABLE) {
+            return;
+        }
+        
+        Set<KeyValuePair<Integer, Long>> keyValuePairSet = new HashSet<>(1);
+        keyValuePairSet.add(new KeyValuePair<>(1, 1L));
+        
+        try {
+            new SemiDynamicLongBlockRMQTree<>(keyValuePairSet)
+                    .setVectorized(true);
+            
+            fail("Should have thrown.");
+        } catch (IllegalStateException ex) {
+            
+        }
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void throwsOnDescendingRange() {
+        Set<KeyValuePair<Integer, Long>> keyValuePairSet = new HashSet<>(2);
+        
+        keyValuePairSet.add(new KeyValuePair<>(1, 1L));
+        keyValuePairSet.add(new KeyValuePair<>(2, 2L));
+        
+        new SemiDynamicLongBlockRMQTree<>(keyValuePairSet)
+                .getRangeMinimum(2, 1);
+    }
+    
+    private static void agreesWithBruteForce(boolean vectorized) {
+        Random random = new Random(13L);
+        
+        for (int fanOut : new int[]{ 2, 3, 8, 16, 64 }) {
+            int size = 1 + random.nextInt(2000);
+            long[] values = new long[size];
+            Set<KeyValuePair<Integer, Long>> keyValuePairSet = 
+                    new HashSet<>(size);
+            
+            for (int i = 0; i < size; i++) {
+                values[i] = random.nextInt(1000);
+                keyValuePairSet.add(new KeyValuePair<>(i, values[i]));
+            }
+            
+            SemiDynamicLongBlockRMQTree<Integer> tree = 
+                    new SemiDynamicLongBlockRMQTree<>(keyValuePairSet, fanOut);
+            
+            tree.setVectorized(vectorized);
+            tree.setDirectScanThreshold(random.nextInt(2 * fanOut));
+            
+            for (int iteration = 0; iteration < 1000; iteration++) {
+                int key1 = random.nextInt(size);
+                int key2 = random.nextInt(size);
+                int leftKey = Math.min(key1, key2);
+                int rightKey = Math.max(key1, key2);
+                
+                long expected = Long.MAX_VALUE;
+                
+                for (int i = leftKey; i <= rightKey; i++) {
+                    expected = Math.min(expected, values[i]);
+                }
+                
+                assertEquals(expected, tree.getRangeMinimum(leftKey, rightKey));
+                
+                if (iteration % 100 == 0) {
+                    Map<Integer, Long> keyValueMap = new HashMap<>();
+                    
+                    for (int i = 0; i < size / 4; i++) {
+                        int key = random.nextInt(size);
+                        long value = random.nextInt(1000);
+                        keyValueMap.merge(key, value, Math::min);
+                        values[key] = Math.min(values[key], value);
+                    }
+                    
+                    tree.updateAll(keyValueMap);
+                } else {
+                    int key = random.nextInt(size);
+                    long value = random.nextInt(1000);
+                    values[key] = Math.min(values[key], value);
+                    tree.update(key, value);
+                }
+            }
+        }
+    }
+}
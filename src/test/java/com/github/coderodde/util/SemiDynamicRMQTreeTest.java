@@ -1,7 +1,24 @@
 package com.github.coderodde.util;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
 import java.util.Set;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
 import static org.junit.Assert.assertEquals;
 import org.junit.Test;
 
@@ -87,4 +104,425 @@ public class SemiDynamicRMQTreeTest {
         assertEquals(Long.valueOf(2L), leaf2.getValue());
         assertEquals(Long.valueOf(3L), leaf3.getValue());
     }
+    
+    @Test
+    public void agreesWithBruteForce() {
+        Random random = new Random(13L);
+        int size = 100;
+        long[] values = new long[size];
+        Set<KeyValuePair<Integer, Long>> keyValuePairSet = new HashSet<>(size);
+        
+        for (int i = 0; i < size; i++) {
+            values[i] = random.nextInt(1000);
+            keyValuePairSet.add(new KeyValuePair<>(i, values[i]));
+        }
+        
+        SemiDynamicRMQTree<Integer, Long> tree = 
+                new SemiDynamicRMQTree<>(keyValuePairSet);
+        
+        for (int leftKey = 0; leftKey < size; leftKey++) {
+            long expected = Long.MAX_VALUE;
+            
+            for (int rightKey = leftKey; rightKey < size; rightKey++) {
+                expected = Math.min(expected, values[rightKey]);
+                
+                assertEquals(Long.valueOf(expected),
+                             tree.getRangeMinimum(leftKey, rightKey));
+            }
+        }
+    }
+    
+    @Test
+    public void updatesInBulk() {
+        Random random = new Random(23L);
+        int size = 300;
+        long[] values = new long[size];
+        Set<KeyValuePair<Integer, Long>> keyValuePairSet = new HashSet<>(size);
+        
+        for (int i = 0; i < size; i++) {
+            values[i] = random.nextInt(1000);
+            keyValuePairSet.add(new KeyValuePair<>(i, values[i]));
+        }
+        
+        SemiDynamicRMQTree<Integer, Long> tree = 
+                new SemiDynamicRMQTree<>(keyValuePairSet, 10);
+        
+        for (int iteration = 0; iteration < 20; iteration++) {
+            for (int i = 0; i < 10; i++) {
+                int leftKey = random.nextInt(size);
+                int rightKey = leftKey + random.nextInt(size - leftKey);
+                
+                // Populates the cache:
+                tree.getRangeMinimum(leftKey, rightKey);
+            }
+            
+            Map<Integer, Long> keyValueMap = new HashMap<>();
+            
+            for (int i = 0; i < 30; i++) {
+                int key = random.nextInt(size + 10);
+                long value = random.nextInt(1000);
+                keyValueMap.merge(key, value, Math::min);
+                
+                if (key < size) {
+                    values[key] = Math.min(values[key], value);
+                }
+            }
+            
+            tree.updateAll(keyValueMap);
+            
+            for (int leftKey = 0; leftKey < size; leftKey += 7) {
+                long expected = Long.MAX_VALUE;
+                
+                for (int rightKey = leftKey; rightKey < size; rightKey++) {
+                    expected = Math.min(expected, values[rightKey]);
+                    
+                    assertEquals(Long.valueOf(expected),
+                                 tree.getRangeMinimum(leftKey, rightKey));
+                }
+            }
+        }
+    }
+    
+    @Test
+    public void cachesRangeMinimaAndInvalidatesOnUpdate() {
+        Set<KeyValuePair<Integer, Long>> keyValuePairSet = new HashSet<>(10);
+        
+        for (int i = 1; i <= 10; i++) {
+            keyValuePairSet.add(new KeyValuePair<>(i, Long.valueOf(i)));
+        }
+        
+        SemiDynamicRMQTree<Integer, Long> tree = 
+                new SemiDynamicRMQTree<>(keyValuePairSet, 2);
+        
+        assertEquals(Long.valueOf(2L), tree.getRangeMinimum(2, 4));
+        assertEquals(Long.valueOf(6L), tree.getRangeMinimum(6, 9));
+        assertEquals(Long.valueOf(2L), tree.getRangeMinimum(2, 4));
+        
+        RangeMinimumCacheStatistics statistics = tree.getCacheStatistics();
+        
+        assertEquals(1L, statistics.getHits());
+        assertEquals(2L, statistics.getMisses());
+        assertEquals(2, statistics.getSize());
+        
+        // Does not decrease the value, nothing is invalidated:
+        tree.update(3, 5L);
+        assertEquals(0L, tree.getCacheStatistics().getInvalidations());
+        
+        tree.update(3, -3L);
+        
+        statistics = tree.getCacheStatistics();
+        
+        assertEquals(1L, statistics.getInvalidations());
+        assertEquals(1, statistics.getSize());
+        
+        assertEquals(Long.valueOf(-3L), tree.getRangeMinimum(2, 4));
+        assertEquals(Long.valueOf(6L), tree.getRangeMinimum(6, 9));
+        assertEquals(Long.valueOf(-3L), tree.getRangeMinimum(1, 10));
+        
+        statistics = tree.getCacheStatistics();
+        
+        assertEquals(2L, statistics.getHits());
+        assertEquals(4L, statistics.getMisses());
+        assertEquals(1L, statistics.getEvictions());
+        assertEquals(2, statistics.getSize());
+    }
+    
+    @Test
+    public void exportsRangesInKeyOrder() {
+        Set<KeyValuePair<Integer, Long>> keyValuePairSet = new HashSet<>(100);
+        
+        for (int i = 0; i < 100; i++) {
+            // Only even keys:
+            keyValuePairSet.add(new KeyValuePair<>(2 * i, Long.valueOf(-i)));
+        }
+        
+        SemiDynamicRMQTree<Integer, Long> tree = 
+                new SemiDynamicRMQTree<>(keyValuePairSet);
+        
+        List<Integer> keys = new ArrayList<>();
+        List<Long> values = new ArrayList<>();
+        
+        tree.forEachInRange(9, 20, (key, value) -> {
+            keys.add(key);
+            values.add(value);
+        });
+        
+        assertEquals(Arrays.asList(10, 12, 14, 16, 18, 20), keys);
+        assertEquals(Arrays.asList(-5L, -6L, -7L, -8L, -9L, -10L), values);
+        
+        Integer[] keyArray = new Integer[8];
+        Long[] valueArray = new Long[8];
+        
+        assertEquals(5, tree.copyRange(190, 1000, keyArray, valueArray, 1));
+        assertEquals(Integer.valueOf(194), keyArray[3]);
+        assertEquals(Long.valueOf(-97L), valueArray[3]);
+        assertEquals(0, tree.copyRange(-10, -1, keyArray, null, 0));
+        
+        assertEquals(
+                IntStream.rangeClosed(50, 99).sum(),
+                StreamSupport.stream(tree.spliterator(100, 298), true)
+                             .mapToInt(KeyValuePair::getKey)
+                             .map(key -> key / 2)
+                             .sum());
+    }
+    
+    @Test
+    public void findsKeysBelowThreshold() {
+        Random random = new Random(17L);
+        int size = 200;
+        long[] values = new long[size];
+        Set<KeyValuePair<Integer, Long>> keyValuePairSet = new HashSet<>(size);
+        
+        for (int i = 0; i < size; i++) {
+            values[i] = random.nextInt(1000);
+            // Only even keys:
+            keyValuePairSet.add(new KeyValuePair<>(2 * i, values[i]));
+        }
+        
+        SemiDynamicRMQTree<Integer, Long> tree = 
+                new SemiDynamicRMQTree<>(keyValuePairSet);
+        
+        for (int iteration = 0; iteration < 1000; iteration++) {
+            int key1 = random.nextInt(2 * size + 2) - 1;
+            int key2 = random.nextInt(2 * size + 2) - 1;
+            int leftKey = Math.min(key1, key2);
+            int rightKey = Math.max(key1, key2);
+            long threshold = random.nextInt(200);
+            
+            Integer expectedFirst = null;
+            Integer expectedLast = null;
+            List<Integer> expectedKeys = new ArrayList<>();
+            
+            for (int i = 0; i < size; i++) {
+                if (values[i] < threshold) {
+                    if (2 * i >= leftKey && expectedFirst == null) {
+                        expectedFirst = 2 * i;
+                    }
+                    
+                    if (2 * i <= rightKey) {
+                        expectedLast = 2 * i;
+                    }
+                    
+                    if (2 * i >= leftKey && 2 * i <= rightKey) {
+                        expectedKeys.add(2 * i);
+                    }
+                }
+            }
+            
+            assertEquals(expectedFirst, tree.findFirstBelow(leftKey, threshold));
+            assertEquals(expectedLast, tree.findLastBelow(rightKey, threshold));
+            
+            List<Integer> keys = new ArrayList<>();
+            tree.iteratorBelow(leftKey, rightKey, threshold)
+                .forEachRemaining(keys::add);
+            
+            assertEquals(expectedKeys, keys);
+            
+            int index = random.nextInt(size);
+            long value = random.nextInt(1000);
+            values[index] = Math.min(values[index], value);
+            tree.update(2 * index, value);
+        }
+    }
+    
+    @Test
+    public void passesOnSerializationRoundTrip() throws IOException {
+        Random random = new Random(19L);
+        int size = 1000;
+        Set<KeyValuePair<Integer, Long>> keyValuePairSet = new HashSet<>(size);
+        
+        for (int i = 0; i < size; i++) {
+            long value = i == 0 ? Long.MIN_VALUE : 
+                         i == 1 ? Long.MAX_VALUE : 
+                         random.nextLong();
+            
+            keyValuePairSet.add(new KeyValuePair<>(3 * i - 1500, value));
+        }
+        
+        SemiDynamicRMQTree<Integer, Long> tree = 
+                new SemiDynamicRMQTree<>(keyValuePairSet);
+        
+        tree.update(3, -7L);
+        
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        
+        tree.writeTo(Channels.newChannel(out), 
+                     RMQTreeCodecs.integerCodec(), 
+                     RMQTreeCodecs.longCodec());
+        
+        SemiDynamicRMQTree<Integer, Long> readTree = 
+                SemiDynamicRMQTree.readFrom(
+                        Channels.newChannel(
+                                new ByteArrayInputStream(out.toByteArray())),
+                        RMQTreeCodecs.integerCodec(),
+                        RMQTreeCodecs.longCodec());
+        
+        List<String> expected = new ArrayList<>();
+        List<String> actual = new ArrayList<>();
+        
+        tree.forEachInRange(Integer.MIN_VALUE, 
+                            Integer.MAX_VALUE,
+                            (key, value) -> expected.add(key + ":" + value));
+        
+        readTree.forEachInRange(Integer.MIN_VALUE, 
+                                Integer.MAX_VALUE,
+                                (key, value) -> actual.add(key + ":" + value));
+        
+        assertEquals(size, actual.size());
+        assertEquals(expected, actual);
+        
+        for (int i = 0; i < 100; i++) {
+            int key1 = 3 * random.nextInt(size) - 1500;
+            int key2 = 3 * random.nextInt(size) - 1500;
+            int leftKey = Math.min(key1, key2);
+            int rightKey = Math.max(key1, key2);
+            
+            assertEquals(tree.getRangeMinimum(leftKey, rightKey),
+                         readTree.getRangeMinimum(leftKey, rightKey));
+        }
+    }
+    
+    @Test
+    public void passesOnStringSerializationRoundTrip() throws IOException {
+        Set<KeyValuePair<String, String>> keyValuePairSet = new HashSet<>(3);
+        
+        keyValuePairSet.add(new KeyValuePair<>("b", "y"));
+        keyValuePairSet.add(new KeyValuePair<>("a", "z"));
+        keyValuePairSet.add(new KeyValuePair<>("c", "x"));
+        
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        
+        new SemiDynamicRMQTree<>(keyValuePairSet)
+                .writeTo(out, 
+                         RMQTreeCodecs.stringCodec(),
+                         RMQTreeCodecs.stringCodec());
+        
+        SemiDynamicRMQTree<String, String> tree = 
+                SemiDynamicRMQTree.readFrom(
+                        new ByteArrayInputStream(out.toByteArray()),
+                        RMQTreeCodecs.stringCodec(),
+                        RMQTreeCodecs.stringCodec());
+        
+        assertEquals("y", tree.getRangeMinimum("a", "b"));
+        assertEquals("x", tree.getRangeMinimum("a", "c"));
+    }
+    
+    @Test
+    public void readsConsecutiveTreesFromOneChannel() throws IOException {
+        Random random = new Random(23L);
+        int size = 100_000; // The payload spans several chunks.
+        Set<KeyValuePair<Integer, Long>> keyValuePairSet1 = new HashSet<>(size);
+        Set<KeyValuePair<Integer, Long>> keyValuePairSet2 = new HashSet<>(size);
+        
+        for (int i = 0; i < size; i++) {
+            keyValuePairSet1.add(new KeyValuePair<>(i, random.nextLong()));
+            keyValuePairSet2.add(new KeyValuePair<>(-i, random.nextLong()));
+        }
+        
+        SemiDynamicRMQTree<Integer, Long> tree1 = 
+                new SemiDynamicRMQTree<>(keyValuePairSet1);
+        
+        SemiDynamicRMQTree<Integer, Long> tree2 = 
+                new SemiDynamicRMQTree<>(keyValuePairSet2);
+        
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        WritableByteChannel outputChannel = Channels.newChannel(out);
+        
+        tree1.writeTo(outputChannel, 
+                      RMQTreeCodecs.integerCodec(), 
+                      RMQTreeCodecs.longCodec());
+        
+        tree2.writeTo(outputChannel, 
+                      RMQTreeCodecs.integerCodec(), 
+                      RMQTreeCodecs.longCodec());
+        
+        out.write(42);
+        
+        ReadableByteChannel inputChannel = 
+                Channels.newChannel(new ByteArrayInputStream(out.toByteArray()));
+        
+        SemiDynamicRMQTree<Integer, Long> readTree1 = 
+                SemiDynamicRMQTree.readFrom(inputChannel,
+                                            RMQTreeCodecs.integerCodec(),
+                                            RMQTreeCodecs.longCodec());
+        
+        SemiDynamicRMQTree<Integer, Long> readTree2 = 
+                SemiDynamicRMQTree.readFrom(inputChannel,
+                                            RMQTreeCodecs.integerCodec(),
+                                            RMQTreeCodecs.longCodec(),
+                                            16);
+        
+        ByteBuffer trailingData = ByteBuffer.allocate(2);
+        
+        assertEquals(1, inputChannel.read(trailingData));
+        assertEquals(42, trailingData.get(0));
+        
+        for (int i = 0; i < 100; i++) {
+            int key1 = random.nextInt(size);
+            int key2 = random.nextInt(size);
+            int leftKey = Math.min(key1, key2);
+            int rightKey = Math.max(key1, key2);
+            
+            assertEquals(tree1.getRangeMinimum(leftKey, rightKey),
+                         readTree1.getRangeMinimum(leftKey, rightKey));
+            
+            assertEquals(tree2.getRangeMinimum(-rightKey, -leftKey),
+                         readTree2.getRangeMinimum(-rightKey, -leftKey));
+        }
+        
+        // Only the second tree was read with a range minimum cache:
+        RangeMinimumCacheStatistics statistics1 = 
+                readTree1.getCacheStatistics();
+        
+        RangeMinimumCacheStatistics statistics2 = 
+                readTree2.getCacheStatistics();
+        
+        assertEquals(0L, statistics1.getHits() + statistics1.getMisses());
+        assertEquals(100L, statistics2.getHits() + statistics2.getMisses());
+        
+        readTree2.getRangeMinimum(-size + 1, 0);
+        readTree2.getRangeMinimum(-size + 1, 0);
+        
+        assertEquals(statistics2.getHits() + 1L,
+                     readTree2.getCacheStatistics().getHits());
+    }
+    
+    @Test(expected = IOException.class)
+    public void throwsOnTrailingPayload() throws IOException {
+        Set<KeyValuePair<Integer, Long>> keyValuePairSet = new HashSet<>(1);
+        keyValuePairSet.add(new KeyValuePair<>(1, 1L));
+        
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        
+        new SemiDynamicRMQTree<>(keyValuePairSet)
+                .writeTo(out, 
+                         RMQTreeCodecs.integerCodec(),
+                         RMQTreeCodecs.longCodec());
+        
+        // A value codec that reads nothing leaves the value column unread:
+        RMQTreeCodec<Long> skippingCodec = new RMQTreeCodec<>() {
+            
+            @Override
+            public void write(Long previous, Long value, DataOutput out) {
+                
+            }
+            
+            @Override
+            public Long read(Long previous, DataInput in) {
+                return 0L;
+            }
+        };
+        
+        SemiDynamicRMQTree.readFrom(new ByteArrayInputStream(out.toByteArray()),
+                                    RMQTreeCodecs.integerCodec(),
+                                    skippingCodec);
+    }
+    
+    @Test(expected = IOException.class)
+    public void throwsOnMalformedInput() throws IOException {
+        SemiDynamicRMQTree.readFrom(
+                new ByteArrayInputStream(new byte[]{ 1, 2, 3, 4, 5 }),
+                RMQTreeCodecs.integerCodec(),
+                RMQTreeCodecs.longCodec());
+    }
 }